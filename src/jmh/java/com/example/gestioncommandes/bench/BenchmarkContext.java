@@ -0,0 +1,47 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.GestionCommandesApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+/**
+ * Boots the application for benchmarks: no servlet container, gRPC served in-process and
+ * SQL logging turned off so the measured paths are not dominated by stdout.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    // Passed as command line arguments so they take precedence over application.properties
+    private static final String[] DEFAULT_ARGS = {
+            "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--grpc.server.port=-1",
+            "--grpc.server.in-process-name=bench",
+            "--grpc.client.notification.address=in-process:bench",
+            "--logging.level.root=WARN"
+    };
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    // Embedded Tomcat on a random port, read back from local.server.port
+    static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        String[] args = Arrays.copyOf(extraArgs, extraArgs.length + 1);
+        args[extraArgs.length] = "--server.port=0";
+        return start(WebApplicationType.SERVLET, args);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String... extraArgs) {
+        String[] args = Arrays.copyOf(DEFAULT_ARGS, DEFAULT_ARGS.length + extraArgs.length);
+        System.arraycopy(extraArgs, 0, args, DEFAULT_ARGS.length, extraArgs.length);
+        return new SpringApplicationBuilder(GestionCommandesApplication.class)
+                .web(type)
+                .run(args);
+    }
+}
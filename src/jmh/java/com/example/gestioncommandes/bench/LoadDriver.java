@@ -0,0 +1,253 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.config.ZipfSampler;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop load driver replaying a weighted mix of REST, GraphQL and SOAP calls against a
+ * running instance, typically one started with the {@code bulk-seed} profile. Requests are
+ * sent on a fixed schedule whatever the response times, and latency is measured from the
+ * scheduled send time, so a stalled server shows up in the percentiles instead of lowering
+ * the offered rate. Client and product ids follow the same Zipf skew as the seeded data.
+ * <pre>
+ * mvn -Pbenchmarks,load verify -Dload.args="--rate=500 --duration=120"
+ * </pre>
+ * Options: {@code --url --rate --duration --warmup --mix=op:weight,... --clients --products
+ * --seed --max-in-flight --out}. Percentile distributions are written as {@code .hgrm} files.
+ */
+public final class LoadDriver {
+
+    private static final String SOAP_ENVELOPE = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+            + "xmlns:tns=\"http://example.com/gestioncommandes/soap\"><soapenv:Body>%s</soapenv:Body></soapenv:Envelope>";
+
+    private static final String DEFAULT_MIX = "rest-get-order:30,rest-create-order:10,graphql-get-order:15,"
+            + "graphql-order-summary:10,soap-get-order:20,soap-client-orders:15";
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ZipfSampler clientSampler;
+    private final ZipfSampler productSampler;
+    private final Map<String, Function<SplittableRandom, HttpRequest>> operations = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new HashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean recording;
+    private long orderCount;
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("url", "http://localhost:8099");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.clientSampler = new ZipfSampler(Integer.parseInt(option("clients", "100000")),
+                Double.parseDouble(option("client-exponent", "0.8")));
+        this.productSampler = new ZipfSampler(Integer.parseInt(option("products", "10000")),
+                Double.parseDouble(option("product-exponent", "1.1")));
+
+        operations.put("rest-get-order", random -> get("/api/rest/orders/" + randomOrderId(random)));
+        operations.put("rest-create-order", random -> postJson("/api/rest/orders", String.format(
+                "{\"clientId\":%d,\"source\":\"mobile\",\"items\":[{\"productId\":%d,\"quantity\":1},{\"productId\":%d,\"quantity\":1}]}",
+                clientSampler.sample(random), productSampler.sample(random), productSampler.sample(random))));
+        operations.put("graphql-get-order", random -> postJson("/graphql", String.format(
+                "{\"query\":\"{ getOrder(id: %d) { id status totalAmount items { productName quantity subtotal } } }\"}",
+                randomOrderId(random))));
+        operations.put("graphql-order-summary", random -> postJson("/graphql", String.format(
+                "{\"query\":\"{ orderSummary(dimension: CLIENT, key: \\\"%d\\\") { orderCount totalAmount } }\"}",
+                clientSampler.sample(random))));
+        operations.put("soap-get-order", random -> postSoap(String.format(
+                "<tns:getOrderRequest><tns:orderId>%d</tns:orderId></tns:getOrderRequest>", randomOrderId(random))));
+        operations.put("soap-client-orders", random -> postSoap(String.format(
+                "<tns:getClientOrdersRequest><tns:clientId>%d</tns:clientId><tns:size>20</tns:size></tns:getClientOrdersRequest>",
+                clientSampler.sample(random))));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws IOException {
+        orderCount = readOrderCount();
+        if (orderCount == 0) {
+            throw new IllegalStateException("No orders at " + baseUrl + ", start it with --spring.profiles.active=bulk-seed");
+        }
+
+        List<String> schedule = weightedSchedule(option("mix", DEFAULT_MIX));
+        for (String name : new LinkedHashSet<>(schedule)) {
+            // Microsecond resolution up to one minute, three significant digits
+            histograms.put(name, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+            errors.put(name, new AtomicLong());
+        }
+
+        double rate = Double.parseDouble(option("rate", "200"));
+        long warmupSeconds = Long.parseLong(option("warmup", "10"));
+        long durationSeconds = Long.parseLong(option("duration", "60"));
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "5000"));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(option("seed", "42")));
+        System.out.printf("%s: %s orders, %.0f req/s for %ds after %ds warmup%n",
+                baseUrl, orderCount, rate, durationSeconds, warmupSeconds);
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long sent = 0;
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!recording && scheduled >= measureFrom) {
+                recording = true;
+                sent = 0;
+            }
+            String name = schedule.get(random.nextInt(schedule.size()));
+            if (inFlight.get() >= maxInFlight) {
+                if (recording) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            send(name, operations.get(name).apply(random), scheduled);
+            sent++;
+        }
+        // Let outstanding requests finish before reporting
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        report(sent, durationSeconds);
+    }
+
+    private void send(String name, HttpRequest request, long scheduled) {
+        inFlight.incrementAndGet();
+        boolean measured = recording;
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+            histograms.get(name).recordValue(Math.min(micros, histograms.get(name).getHighestTrackableValue()));
+            if (failure != null || response.statusCode() >= 400) {
+                errors.get(name).incrementAndGet();
+            }
+        });
+    }
+
+    private void report(long sent, long durationSeconds) throws IOException {
+        Path out = Path.of(option("out", "target/load"));
+        Files.createDirectories(out);
+        System.out.printf("%nSent %d requests (%.1f req/s), %d dropped at the in-flight limit%n",
+                sent, (double) sent / durationSeconds, dropped.get());
+        System.out.printf("%-24s %8s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            System.out.printf("%-24s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    histogram.getTotalCount(), errors.get(entry.getKey()).get(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            try (PrintStream file = new PrintStream(Files.newOutputStream(out.resolve(entry.getKey() + ".hgrm")))) {
+                // Values in microseconds, reported in milliseconds
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        System.out.println("Percentile distributions written to " + out.toAbsolutePath());
+    }
+
+    private long readOrderCount() throws IOException {
+        try {
+            String body = httpClient.send(get("/api/rest/orders/summary"), HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = Pattern.compile("\"orderCount\":(\\d+)").matcher(body);
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private List<String> weightedSchedule(String mix) {
+        List<String> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (!operations.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Unknown operation " + parts[0] + ", expected one of " + operations.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                schedule.add(parts[0]);
+            }
+        }
+        return schedule;
+    }
+
+    private long randomOrderId(SplittableRandom random) {
+        return 1 + random.nextLong(orderCount);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).build();
+    }
+
+    private HttpRequest postJson(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest postSoap(String payload) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/ws"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "text/xml")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(SOAP_ENVELOPE, payload)))
+                .build();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.ClientRepository;
+import com.example.gestioncommandes.repository.ProductRepository;
+import com.example.gestioncommandes.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link OrderService#createOrder} against the in-memory H2 database: catalog lookups,
+ * stock reservation, insert and outbox enqueue in one transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    @Param({"1", "10"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        orderService = context.getBean(OrderService.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+
+        Client client = new Client();
+        client.setName("Benchmark Client");
+        client.setEmail("bench@email.com");
+        Long clientId = context.getBean(ClientRepository.class).save(client).getId();
+
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product();
+            product.setName("Benchmark product " + i);
+            product.setPrice(new BigDecimal("19.99"));
+            product.setStockQuantity(Integer.MAX_VALUE);
+            product.setCategory("Benchmark");
+            items.add(new OrderItemRequest(productRepository.save(product).getId(), 1));
+        }
+        request = new CreateOrderRequest(clientId, items, "e-commerce");
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
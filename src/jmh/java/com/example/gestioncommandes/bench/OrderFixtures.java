@@ -0,0 +1,78 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.dto.OrderItemResponse;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Order;
+import com.example.gestioncommandes.model.OrderItem;
+import com.example.gestioncommandes.model.OrderStatus;
+import com.example.gestioncommandes.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached orders and responses shaped like production data, for benchmarks that do not need
+ * a database.
+ */
+public final class OrderFixtures {
+
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 15, 10, 30, 45);
+
+    private OrderFixtures() {
+    }
+
+    public static Order order(long id, int itemCount) {
+        Client client = new Client();
+        client.setId(1L);
+        client.setName("Jean Dupont");
+        client.setEmail("jean.dupont@email.com");
+
+        Order order = new Order();
+        order.setId(id);
+        order.setClient(client);
+        order.setOrderDate(ORDER_DATE);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setSource("e-commerce");
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName("Product " + (i + 1));
+            product.setPrice(new BigDecimal("19.99"));
+
+            OrderItem item = new OrderItem();
+            item.setId(id * 1000 + i);
+            item.setProduct(product);
+            item.setQuantity(2);
+            item.setUnitPrice(product.getPrice());
+            item.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(2)));
+            order.addItem(item);
+            total = total.add(item.getSubtotal());
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    public static OrderResponse response(long id, int itemCount) {
+        Order order = order(id, itemCount);
+        List<OrderItemResponse> items = new ArrayList<>(itemCount);
+        for (OrderItem item : order.getItems()) {
+            items.add(new OrderItemResponse(item.getId(), item.getProduct().getId(), item.getProduct().getName(),
+                    item.getQuantity(), item.getUnitPrice(), item.getSubtotal()));
+        }
+        return new OrderResponse(order.getId(), order.getClient().getId(), order.getClient().getName(),
+                order.getOrderDate(), order.getStatus(), order.getTotalAmount(), order.getSource(), items);
+    }
+
+    public static List<OrderResponse> responses(int orderCount, int itemCount) {
+        List<OrderResponse> responses = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            responses.add(response(i + 1, itemCount));
+        }
+        return responses;
+    }
+}
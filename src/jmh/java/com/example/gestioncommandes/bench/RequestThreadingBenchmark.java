@@ -0,0 +1,127 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.grpc.GetOrderRequest;
+import com.example.gestioncommandes.grpc.Order;
+import com.example.gestioncommandes.grpc.OrderServiceGrpc;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.ClientRepository;
+import com.example.gestioncommandes.repository.ProductRepository;
+import com.example.gestioncommandes.service.OrderService;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing platform-thread and virtual-thread request handling: 256 concurrent
+ * callers read orders over REST, SOAP and gRPC. Run in both modes on Java 21 and compare the
+ * throughput scores and the p0.99 lines of the sample-time results:
+ * <pre>
+ * mvn -Pbenchmarks verify -Djmh.includes=RequestThreading
+ * </pre>
+ * The fork prints a stack trace whenever a virtual thread blocks while pinned to its carrier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(256)
+public class RequestThreadingBenchmark {
+
+    private static final int ORDER_COUNT = 100;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ManagedChannel channel;
+    private OrderServiceGrpc.OrderServiceBlockingStub orderStub;
+    private String baseUrl;
+    private List<Long> orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual-thread mode needs Java 21, running on " + Runtime.version());
+        }
+        context = BenchmarkContext.startWeb("--spring.threads.virtual.enabled=" + virtual);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        // Own client and product, so the orders exist whatever data the instance starts with
+        // (sample data or a bulk-seed data set)
+        Client client = new Client();
+        client.setName("Benchmark Client");
+        client.setEmail("threading-bench@email.com");
+        Long clientId = context.getBean(ClientRepository.class).save(client).getId();
+        Product product = new Product();
+        product.setName("Benchmark product");
+        product.setPrice(new BigDecimal("19.99"));
+        product.setStockQuantity(Integer.MAX_VALUE);
+        product.setCategory("Benchmark");
+        Long productId = context.getBean(ProductRepository.class).save(product).getId();
+
+        OrderService orderService = context.getBean(OrderService.class);
+        orderIds = new ArrayList<>(ORDER_COUNT);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            CreateOrderRequest request = new CreateOrderRequest(clientId,
+                    List.of(new OrderItemRequest(productId, 1)), "benchmark");
+            orderIds.add(orderService.createOrder(request).getId());
+        }
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = InProcessChannelBuilder.forName("bench").build();
+        orderStub = OrderServiceGrpc.newBlockingStub(channel);
+    }
+
+    @Benchmark
+    public int restGetOrder() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/rest/orders/" + randomOrderId())).build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int soapGetOrder() throws IOException, InterruptedException {
+        String envelope = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+                + "xmlns:tns=\"http://example.com/gestioncommandes/soap\"><soapenv:Body>"
+                + "<tns:getOrderRequest><tns:orderId>" + randomOrderId() + "</tns:orderId></tns:getOrderRequest>"
+                + "</soapenv:Body></soapenv:Envelope>";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/ws"))
+                .header("Content-Type", "text/xml")
+                .POST(HttpRequest.BodyPublishers.ofString(envelope))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public Order grpcGetOrder() {
+        return orderStub.getOrder(GetOrderRequest.newBuilder().setOrderId(randomOrderId()).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.shutdownNow();
+        context.close();
+    }
+
+    private long randomOrderId() {
+        return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.grpc.NotificationBatch;
+import com.example.gestioncommandes.grpc.NotificationGrpcClient;
+import com.example.gestioncommandes.grpc.OrderProtoMapper;
+import com.example.gestioncommandes.grpc.OrderNotification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wire encoding of the payloads sent on every order: the body of REST responses in each
+ * negotiated format (JSON, CBOR, Smile, protobuf) and the protobuf notification pushed to the
+ * gRPC notification service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10"})
+    private int itemCount;
+
+    // Same settings as the ObjectMapper Spring Boot configures for the REST controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private OrderResponse order;
+    private NotificationBatch batch;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.response(1L, itemCount);
+
+        NotificationBatch.Builder builder = NotificationBatch.newBuilder().setBatchId(1L);
+        for (int i = 0; i < 500; i++) {
+            builder.addNotifications(notification(order));
+        }
+        batch = builder.build();
+    }
+
+    @Benchmark
+    public byte[] jacksonOrderResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] cborOrderResponse() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] smileOrderResponse() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(order);
+    }
+
+    // The application/x-protobuf body of the REST order API, mapping included
+    @Benchmark
+    public byte[] protobufOrderResponse() {
+        return OrderProtoMapper.toOrder(order).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] protobufOrderNotification() {
+        return notification(order).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] protobufNotificationBatch() {
+        return batch.toByteArray();
+    }
+
+    private static OrderNotification notification(OrderResponse order) {
+        return NotificationGrpcClient.orderCreated(order.getId(), order.getClientId(), order.getClientName(),
+                order.getStatus().name(), order.getTotalAmount().doubleValue());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gestioncommandes.bench;
+
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.ProductRepository;
+import com.example.gestioncommandes.service.StockReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress harness for {@link StockReservationService}: many threads reserve the same hot product
+ * until its stock runs out. The trial fails if the final stock does not match the number of
+ * successful reservations or went negative.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class StockReservationBenchmark {
+
+    private static final int INITIAL_STOCK = 50_000;
+
+    private ConfigurableApplicationContext context;
+    private StockReservationService stockReservationService;
+    private ProductRepository productRepository;
+    private Long hotProductId;
+
+    private final AtomicLong reserved = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        stockReservationService = context.getBean(StockReservationService.class);
+        productRepository = context.getBean(ProductRepository.class);
+
+        Product product = new Product();
+        product.setName("Hot SKU");
+        product.setPrice(new BigDecimal("9.99"));
+        product.setStockQuantity(INITIAL_STOCK);
+        product.setCategory("Benchmark");
+        hotProductId = productRepository.save(product).getId();
+    }
+
+    @Benchmark
+    public boolean reserveHotProduct() {
+        boolean ok = stockReservationService.tryReserve(Map.of(hotProductId, 1)).isEmpty();
+        (ok ? reserved : rejected).incrementAndGet();
+        return ok;
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyNoOversell() {
+        try {
+            int remaining = productRepository.findById(hotProductId).orElseThrow().getStockQuantity();
+            long expected = INITIAL_STOCK - reserved.get();
+            System.out.printf("%nreserved=%d rejected=%d remaining=%d%n", reserved.get(), rejected.get(), remaining);
+            if (remaining < 0 || remaining != expected) {
+                throw new IllegalStateException("Stock oversold: expected " + expected + " remaining but found " + remaining);
+            }
+        } finally {
+            context.close();
+        }
+    }
+}
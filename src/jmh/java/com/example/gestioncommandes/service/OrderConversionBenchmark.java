@@ -0,0 +1,45 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.bench.OrderFixtures;
+import com.example.gestioncommandes.dto.OrderItemResponse;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Order;
+import com.example.gestioncommandes.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion done by {@link OrderService} on every single-order read and write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderConversionBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private final OrderService orderService = new OrderService();
+    private Order order;
+    private OrderItem item;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(1L, itemCount);
+        item = order.getItems().get(0);
+    }
+
+    @Benchmark
+    public OrderResponse convertToResponse() {
+        return orderService.convertToResponse(order);
+    }
+
+    @Benchmark
+    public OrderItemResponse convertItemToResponse() {
+        return orderService.convertItemToResponse(item);
+    }
+}
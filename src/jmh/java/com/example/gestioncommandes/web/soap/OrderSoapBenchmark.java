@@ -0,0 +1,58 @@
+package com.example.gestioncommandes.web.soap;
+
+import com.example.gestioncommandes.bench.OrderFixtures;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.soap.GetClientOrdersResponse;
+import com.example.gestioncommandes.soap.OrderInfo;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SOAP response path of {@code getClientOrders}: DTO to JAXB conversion in
+ * {@link OrderSoapEndpoint} followed by marshalling the payload to XML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSoapBenchmark {
+
+    @Param({"1", "50"})
+    private int orderCount;
+
+    private List<OrderResponse> orders;
+    private JAXBContext jaxbContext;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        orders = OrderFixtures.responses(orderCount, 3);
+        jaxbContext = JAXBContext.newInstance(GetClientOrdersResponse.class);
+        buffer = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public OrderInfo convertToOrderInfo() {
+        return OrderSoapEndpoint.convertToOrderInfo(orders.get(0));
+    }
+
+    @Benchmark
+    public int convertAndMarshal() throws JAXBException {
+        GetClientOrdersResponse response = new GetClientOrdersResponse();
+        orders.forEach(order -> response.getOrders().add(OrderSoapEndpoint.convertToOrderInfo(order)));
+
+        // Spring-WS creates a marshaller per message as well; marshallers are not thread-safe
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        buffer.reset();
+        marshaller.marshal(response, buffer);
+        return buffer.size();
+    }
+}
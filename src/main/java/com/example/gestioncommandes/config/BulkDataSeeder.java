@@ -0,0 +1,272 @@
+package com.example.gestioncommandes.config;
+
+import com.example.gestioncommandes.model.OrderStatus;
+import com.example.gestioncommandes.repository.OrderAggregateBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replaces {@link DataInitializer} under the {@code bulk-seed} profile with a large synthetic
+ * data set written through batched JDBC. Product popularity and client activity follow Zipf
+ * distributions, and the most active clients are B2B accounts placing larger orders. The same
+ * seed always produces the same rows.
+ */
+@Component
+@Profile("bulk-seed")
+public class BulkDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    private static final String[] CATEGORIES = {"Electronics", "Audio", "Accessories", "Computers", "Phones", "Gaming"};
+
+    private static final OrderStatus[] STATUSES = {OrderStatus.DELIVERED, OrderStatus.SHIPPED,
+            OrderStatus.PROCESSING, OrderStatus.CONFIRMED, OrderStatus.PENDING, OrderStatus.CANCELLED};
+    private static final int[] STATUS_WEIGHTS = {60, 10, 8, 7, 10, 5};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderAggregateBatchRepository orderAggregateBatchRepository;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.clients:100000}")
+    private int clientCount;
+
+    @Value("${seed.products:10000}")
+    private int productCount;
+
+    @Value("${seed.orders:1000000}")
+    private int orderCount;
+
+    @Value("${seed.max-items-per-order:5}")
+    private int maxItemsPerOrder;
+
+    @Value("${seed.b2b.client-share:0.02}")
+    private double b2bClientShare;
+
+    @Value("${seed.b2b.max-items-per-order:20}")
+    private int b2bMaxItemsPerOrder;
+
+    @Value("${seed.zipf.client-exponent:0.8}")
+    private double clientZipfExponent;
+
+    @Value("${seed.zipf.product-exponent:1.1}")
+    private double productZipfExponent;
+
+    @Value("${seed.days:365}")
+    private int days;
+
+    @Value("${seed.end-date:}")
+    private String endDate;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${seed.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Override
+    public void run(String... args) throws InterruptedException {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+
+        BigDecimal[] prices = new BigDecimal[productCount + 1];
+        for (int id = 1; id <= productCount; id++) {
+            prices[id] = BigDecimal.valueOf(500 + random.nextInt(200_000), 2);
+        }
+        insertClients();
+        insertProducts(prices, random.split());
+        long maxItemId = insertOrders(prices, random.split());
+
+        // Continue the id sequences after the seeded rows
+        restartSequence("clients_seq", clientCount + 1L);
+        restartSequence("products_seq", productCount + 1L);
+        restartSequence("orders_seq", orderCount + 1L);
+        restartSequence("order_items_seq", maxItemId + 1);
+        orderAggregateBatchRepository.rebuild();
+
+        Long items = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Long.class);
+        log.info("Seeded {} clients, {} products, {} orders and {} order items in {} ms (seed {})",
+                clientCount, productCount, orderCount, items, (System.nanoTime() - start) / 1_000_000, randomSeed);
+    }
+
+    private void insertClients() {
+        int b2bClients = b2bClientCount();
+        batchInsert("INSERT INTO clients (id, name, email, phone, address) VALUES (?, ?, ?, ?, ?)", clientCount,
+                (ps, i) -> {
+                    long id = i + 1L;
+                    ps.setLong(1, id);
+                    ps.setString(2, (id <= b2bClients ? "Entreprise " : "Client ") + id);
+                    ps.setString(3, "client" + id + "@example.com");
+                    ps.setString(4, String.format("+33 6 %08d", id % 100_000_000));
+                    ps.setString(5, id + " Rue du Commerce, 75001 Paris");
+                });
+    }
+
+    private void insertProducts(BigDecimal[] prices, SplittableRandom random) {
+        batchInsert("INSERT INTO products (id, name, description, price, stock_quantity, category) VALUES (?, ?, ?, ?, ?, ?)",
+                productCount, (ps, i) -> {
+                    int id = i + 1;
+                    ps.setLong(1, id);
+                    ps.setString(2, "Product " + id);
+                    ps.setString(3, "Generated product " + id);
+                    ps.setBigDecimal(4, prices[id]);
+                    // Plenty of stock so load tests contend on the rows rather than run out
+                    ps.setInt(5, 1_000_000 + random.nextInt(1_000_000));
+                    ps.setString(6, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                });
+    }
+
+    /**
+     * Orders are generated in chunks on {@code seed.threads} threads. Each chunk has its own
+     * random stream, split off in chunk order, and item ids derived from the order id, so the
+     * rows do not depend on thread scheduling.
+     */
+    private long insertOrders(BigDecimal[] prices, SplittableRandom random) throws InterruptedException {
+        ZipfSampler clientSampler = new ZipfSampler(clientCount, clientZipfExponent);
+        ZipfSampler productSampler = new ZipfSampler(productCount, productZipfExponent);
+        // Order dates span seed.days days up to seed.end-date included, yesterday unless set
+        LocalDate lastDay = endDate.isBlank() ? LocalDate.now().minusDays(1) : LocalDate.parse(endDate);
+        LocalDateTime end = lastDay.plusDays(1).atStartOfDay();
+        int maxLines = Math.max(maxItemsPerOrder, b2bMaxItemsPerOrder);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int first = 0; first < orderCount; first += batchSize) {
+            int chunkStart = first;
+            int chunkSize = Math.min(batchSize, orderCount - first);
+            SplittableRandom chunkRandom = random.split();
+            chunks.add(executor.submit(() -> insertOrderChunk(chunkStart, chunkSize, chunkRandom,
+                    clientSampler, productSampler, prices, end, maxLines)));
+        }
+        executor.shutdown();
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Bulk seeding failed", e.getCause());
+        }
+        return (long) orderCount * maxLines;
+    }
+
+    // Items are generated first so the order total is known when the order row is written
+    private void insertOrderChunk(int first, int orders, SplittableRandom random, ZipfSampler clientSampler,
+                                  ZipfSampler productSampler, BigDecimal[] prices, LocalDateTime end, int maxLines) {
+        int b2bClients = b2bClientCount();
+        long seconds = days * 86_400L;
+        long[] clientIds = new long[orders];
+        Timestamp[] orderDates = new Timestamp[orders];
+        String[] statuses = new String[orders];
+        String[] sources = new String[orders];
+        BigDecimal[] totals = new BigDecimal[orders];
+        List<long[]> itemRows = new ArrayList<>(orders * 4);
+
+        for (int i = 0; i < orders; i++) {
+            long orderId = first + i + 1L;
+            int clientId = clientSampler.sample(random);
+            boolean b2b = clientId <= b2bClients;
+            clientIds[i] = clientId;
+            orderDates[i] = Timestamp.valueOf(end.minusSeconds(1 + random.nextLong(seconds)));
+            statuses[i] = pickStatus(random).name();
+            sources[i] = b2b ? "B2B" : (random.nextInt(10) < 6 ? "e-commerce" : "mobile");
+
+            int lines = 1 + random.nextInt(b2b ? b2bMaxItemsPerOrder : maxItemsPerOrder);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int line = 0; line < lines; line++) {
+                int productId = productSampler.sample(random);
+                int quantity = 1 + random.nextInt(b2b ? 20 : 3);
+                itemRows.add(new long[]{(orderId - 1) * maxLines + line + 1, orderId, productId, quantity});
+                total = total.add(prices[productId].multiply(BigDecimal.valueOf(quantity)));
+            }
+            totals[i] = total;
+        }
+
+        batchInsert("INSERT INTO orders (id, client_id, order_date, status, total_amount, source) VALUES (?, ?, ?, ?, ?, ?)",
+                orders, (ps, i) -> {
+                    ps.setLong(1, first + i + 1L);
+                    ps.setLong(2, clientIds[i]);
+                    ps.setTimestamp(3, orderDates[i]);
+                    ps.setString(4, statuses[i]);
+                    ps.setBigDecimal(5, totals[i]);
+                    ps.setString(6, sources[i]);
+                });
+        batchInsert("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, subtotal) VALUES (?, ?, ?, ?, ?, ?)",
+                itemRows.size(), (ps, i) -> {
+                    long[] row = itemRows.get(i);
+                    BigDecimal price = prices[(int) row[2]];
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                    ps.setLong(3, row[2]);
+                    ps.setInt(4, (int) row[3]);
+                    ps.setBigDecimal(5, price);
+                    ps.setBigDecimal(6, price.multiply(BigDecimal.valueOf(row[3])));
+                });
+    }
+
+    private int b2bClientCount() {
+        return Math.max(1, (int) (clientCount * b2bClientShare));
+    }
+
+    private static OrderStatus pickStatus(SplittableRandom random) {
+        int draw = random.nextInt(100);
+        for (int i = 0; i < STATUSES.length; i++) {
+            draw -= STATUS_WEIGHTS[i];
+            if (draw < 0) {
+                return STATUSES[i];
+            }
+        }
+        return STATUSES[0];
+    }
+
+    private void restartSequence(String sequence, long next) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+    }
+
+    private void batchInsert(String sql, int rows, RowSetter setter) {
+        for (int first = 0; first < rows; first += batchSize) {
+            int offset = first;
+            int size = Math.min(batchSize, rows - first);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.setValues(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int row) throws SQLException;
+    }
+}
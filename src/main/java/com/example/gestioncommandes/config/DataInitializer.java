@@ -4,15 +4,22 @@ import com.example.gestioncommandes.model.Client;
 import com.example.gestioncommandes.model.Product;
 import com.example.gestioncommandes.repository.ClientRepository;
 import com.example.gestioncommandes.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Component
+@Profile("!bulk-seed")
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private ClientRepository clientRepository;
 
@@ -27,21 +34,21 @@ public class DataInitializer implements CommandLineRunner {
         client1.setEmail("jean.dupont@email.com");
         client1.setPhone("+33 6 12 34 56 78");
         client1.setAddress("123 Rue de Paris, 75001 Paris");
-        clientRepository.save(client1);
 
         Client client2 = new Client();
         client2.setName("Marie Martin");
         client2.setEmail("marie.martin@email.com");
         client2.setPhone("+33 6 98 76 54 32");
         client2.setAddress("456 Avenue des Champs, 69001 Lyon");
-        clientRepository.save(client2);
 
         Client client3 = new Client();
         client3.setName("Pierre Dubois");
         client3.setEmail("pierre.dubois@email.com");
         client3.setPhone("+33 6 11 22 33 44");
         client3.setAddress("789 Boulevard Victor, 13001 Marseille");
-        clientRepository.save(client3);
+
+        // One transaction per saveAll, so the inserts go out as a single JDBC batch
+        clientRepository.saveAll(List.of(client1, client2, client3));
 
         // Initialize Products
         Product product1 = new Product();
@@ -50,7 +57,6 @@ public class DataInitializer implements CommandLineRunner {
         product1.setPrice(new BigDecimal("1299.99"));
         product1.setStockQuantity(50);
         product1.setCategory("Electronics");
-        productRepository.save(product1);
 
         Product product2 = new Product();
         product2.setName("iPhone 15 Pro");
@@ -58,7 +64,6 @@ public class DataInitializer implements CommandLineRunner {
         product2.setPrice(new BigDecimal("1199.99"));
         product2.setStockQuantity(100);
         product2.setCategory("Electronics");
-        productRepository.save(product2);
 
         Product product3 = new Product();
         product3.setName("Samsung Galaxy S24");
@@ -66,7 +71,6 @@ public class DataInitializer implements CommandLineRunner {
         product3.setPrice(new BigDecimal("999.99"));
         product3.setStockQuantity(75);
         product3.setCategory("Electronics");
-        productRepository.save(product3);
 
         Product product4 = new Product();
         product4.setName("Sony WH-1000XM5");
@@ -74,7 +78,6 @@ public class DataInitializer implements CommandLineRunner {
         product4.setPrice(new BigDecimal("399.99"));
         product4.setStockQuantity(200);
         product4.setCategory("Audio");
-        productRepository.save(product4);
 
         Product product5 = new Product();
         product5.setName("iPad Pro 12.9\"");
@@ -82,7 +85,6 @@ public class DataInitializer implements CommandLineRunner {
         product5.setPrice(new BigDecimal("1099.99"));
         product5.setStockQuantity(60);
         product5.setCategory("Electronics");
-        productRepository.save(product5);
 
         Product product6 = new Product();
         product6.setName("Logitech MX Master 3");
@@ -90,13 +92,10 @@ public class DataInitializer implements CommandLineRunner {
         product6.setPrice(new BigDecimal("99.99"));
         product6.setStockQuantity(150);
         product6.setCategory("Accessories");
-        productRepository.save(product6);
 
-        System.out.println("===================================");
-        System.out.println("Database initialized with sample data:");
-        System.out.println("- 3 Clients");
-        System.out.println("- 6 Products");
-        System.out.println("===================================");
+        productRepository.saveAll(List.of(product1, product2, product3, product4, product5, product6));
+
+        log.info("Database initialized with sample data: 3 clients, 6 products");
     }
 }
 
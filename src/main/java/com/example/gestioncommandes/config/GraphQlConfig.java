@@ -0,0 +1,84 @@
+package com.example.gestioncommandes.config;
+
+import com.example.gestioncommandes.web.graphql.PersistedQueryDocumentProvider;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cost limits and document caching for the {@code /graphql} endpoint. Queries deeper than
+ * {@code graphql.limits.max-depth} or costlier than {@code graphql.limits.max-complexity} are
+ * rejected before any data fetcher runs.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Value("${graphql.limits.max-depth:8}")
+    private int maxDepth;
+
+    @Value("${graphql.limits.max-complexity:2000}")
+    private int maxComplexity;
+
+    @Value("${graphql.limits.default-list-size:10}")
+    private int defaultListSize;
+
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${graphql.documents.cache-size:1000}")
+    private long documentCacheSize;
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, listAwareComplexity());
+    }
+
+    @Bean
+    public PersistedQueryDocumentProvider persistedQueryDocumentProvider(MeterRegistry meterRegistry) {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(documentCacheSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, provider.getDocuments(), "graphqlDocuments");
+        return provider;
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(PersistedQueryDocumentProvider provider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(provider));
+    }
+
+    // A field costs one plus its selection; a page size argument or a list type multiplies that
+    // by the number of elements it can return, unless the enclosing paged field already did.
+    // Page sizes count as what the resolver returns (at most orders.page.max-size), and a cost is
+    // capped just above the budget so that summing or multiplying it further cannot overflow
+    private FieldComplexityCalculator listAwareComplexity() {
+        return (environment, childComplexity) -> {
+            long cost = 1L + childComplexity;
+            Object first = environment.getArguments().get("first");
+            if (first instanceof Integer size) {
+                return capped(cost * Math.min(Math.max(size, 1), maxPageSize));
+            }
+            if (GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList) {
+                boolean pagedParent = environment.getParentEnvironment() != null
+                        && environment.getParentEnvironment().getArguments().get("first") instanceof Integer;
+                return capped(pagedParent ? cost : cost * defaultListSize);
+            }
+            return capped(cost);
+        };
+    }
+
+    private int capped(long cost) {
+        return (int) Math.min(cost, maxComplexity + 1L);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.gestioncommandes.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application metrics on top of the Actuator defaults: {@code @Timed} support for the service
+ * layer, per-protocol request latency and Hibernate statement counts (with sampled SQL logging,
+ * see {@link SqlStatementInspector}). Percentiles and histogram
+ * buckets are configured with the {@code management.metrics.distribution.*} properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(@Value("${logging.sql.sample-rate:100}") int sampleRate) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(sampleRate));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.gestioncommandes.config;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+
+/**
+ * R2DBC access for the reactive order reads. The connection factory is deliberately not exposed
+ * as a bean: Spring Boot would then back off from the JDBC DataSource that JPA runs on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveDataConfig implements DisposableBean {
+
+    private ConnectionFactory connectionFactory;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(@Value("${orders.reactive.r2dbc.url}") String url,
+                                                 @Value("${spring.datasource.username}") String username,
+                                                 @Value("${spring.datasource.password:}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionFactory = ConnectionFactories.get(options);
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gestioncommandes.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records {@code orders.requests} (latency) and {@code orders.requests.statements} (Hibernate
+ * statements per request) tagged with the protocol the request came in on, so REST, Spring
+ * Data REST, GraphQL and SOAP can be compared side by side.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> statements = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String protocol = protocol(request.getRequestURI());
+        if (protocol == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long statementsBefore = SqlStatementInspector.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            sample.stop(timers.computeIfAbsent(protocol, key -> Timer.builder("orders.requests")
+                    .description("Order API request latency per protocol")
+                    .tag("protocol", key)
+                    .register(meterRegistry)));
+            statements.computeIfAbsent(protocol, key -> DistributionSummary.builder("orders.requests.statements")
+                            .description("Hibernate statements prepared per request")
+                            .tag("protocol", key)
+                            .register(meterRegistry))
+                    .record(SqlStatementInspector.current() - statementsBefore);
+        }
+    }
+
+    // Actuator, the H2 console and static resources are left out
+    private static String protocol(String uri) {
+        if (uri.startsWith("/api/rest")) {
+            return "rest";
+        }
+        if (uri.startsWith("/api/data")) {
+            return "data-rest";
+        }
+        if (uri.startsWith("/graphql")) {
+            return "graphql";
+        }
+        if (uri.startsWith("/ws")) {
+            return "soap";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.gestioncommandes.config;
+
+import com.example.gestioncommandes.web.rest.OrderProtobufHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary representations of the REST API, chosen with the {@code Accept} and {@code Content-Type}
+ * headers: {@code application/x-protobuf} for orders, {@code application/cbor} and
+ * {@code application/x-jackson-smile} for every body JSON supports. A request without a specific
+ * {@code Accept} header still gets JSON.
+ */
+@Configuration
+public class RestMessageConvertersConfig implements WebMvcConfigurer {
+
+    // Replace the CBOR and Smile converters Spring MVC registers by default, which ignore the
+    // spring.jackson.* settings (dates would be written as arrays instead of ISO strings)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // Appended after the JSON converter, which must stay first to answer Accept: */*
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new OrderProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.gestioncommandes.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and logs a random sample
+ * of them to the {@code com.example.gestioncommandes.sql} logger, one in {@code sampleRate} on
+ * average. Callers read {@link #current()} before and after a unit of work and record the
+ * difference, or collect the statements themselves with {@link #record}; statements issued
+ * through {@code JdbcTemplate} are not seen here.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final Logger sqlLog = LoggerFactory.getLogger("com.example.gestioncommandes.sql");
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    private final int sampleRate;
+
+    public SqlStatementInspector(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        if (sqlLog.isInfoEnabled() && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            sqlLog.atInfo().addKeyValue("sampleRate", sampleRate).log(sql);
+        }
+        return sql;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Runs {@code work} and returns the SQL of the statements it prepared on the current thread.
+     */
+    public static List<String> record(Runnable work) {
+        List<String> outer = RECORDED.get();
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            work.run();
+        } finally {
+            RECORDED.set(outer);
+        }
+        return statements;
+    }
+}
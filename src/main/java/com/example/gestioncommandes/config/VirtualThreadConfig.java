@@ -0,0 +1,31 @@
+package com.example.gestioncommandes.config;
+
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelConfigurer;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Moves gRPC call handling onto virtual threads when {@code spring.threads.virtual.enabled} is
+ * set on Java 21+. Tomcat (and with it the Spring-WS dispatcher servlet), the application task
+ * executor and the scheduler are switched by Spring Boot itself.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServer() {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("grpc-server-");
+        return serverBuilder -> serverBuilder.executor(executor);
+    }
+
+    @Bean
+    public GrpcChannelConfigurer virtualThreadGrpcChannels() {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("grpc-client-");
+        return (channelBuilder, name) -> channelBuilder.executor(executor);
+    }
+}
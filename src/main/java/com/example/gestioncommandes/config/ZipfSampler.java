@@ -0,0 +1,36 @@
+package com.example.gestioncommandes.config;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks 1..n with probability proportional to 1/rank^exponent, so a few low ranks take
+ * most of the draws (hot products, heavy clients). Sampling is a binary search over the
+ * precomputed cumulative distribution.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // Not found returns -(insertion point) - 1, the insertion point is the drawn rank - 1
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.gestioncommandes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResult {
+    private Integer index; // position of the request in the submitted batch
+    private boolean success;
+    private Long orderId;
+    private BigDecimal totalAmount;
+    private String error;
+
+    public static BulkOrderResult created(int index, Long orderId, BigDecimal totalAmount) {
+        return new BulkOrderResult(index, true, orderId, totalAmount, null);
+    }
+
+    public static BulkOrderResult failed(int index, String error) {
+        return new BulkOrderResult(index, false, null, null, error);
+    }
+}
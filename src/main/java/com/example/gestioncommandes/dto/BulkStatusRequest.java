@@ -0,0 +1,16 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusRequest {
+    private List<Long> orderIds;
+    private OrderStatus status;
+}
@@ -0,0 +1,13 @@
+package com.example.gestioncommandes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryCount {
+    private String category;
+    private long count;
+}
@@ -13,5 +13,10 @@ public class CreateOrderRequest {
     private Long clientId;
     private List<OrderItemRequest> items;
     private String source; // e-commerce, mobile, B2B
+    private String idempotencyKey; // optional, a retry with the same key returns the first order
+
+    public CreateOrderRequest(Long clientId, List<OrderItemRequest> items, String source) {
+        this(clientId, items, source, null);
+    }
 }
 
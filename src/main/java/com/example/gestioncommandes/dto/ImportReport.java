@@ -0,0 +1,28 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.ImportType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private String id;
+    private ImportType type;
+    private String fileName;
+    private String status; // QUEUED, RUNNING, COMPLETED or FAILED
+    private long recordsRead;
+    private long recordsImported;
+    private long recordsRejected;
+    private int progressPercent;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorReport; // CSV file listing every rejected line, null when nothing was rejected
+    private List<String> sampleErrors;
+    private String failure; // set when the whole file could not be processed
+}
@@ -0,0 +1,21 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.AggregateDimension;
+import com.example.gestioncommandes.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAggregateSummary {
+    private AggregateDimension dimension;
+    private String key;
+    private OrderStatus status; // null when summed over every status
+    private String period;      // yyyy-MM-dd, or ALL
+    private long orderCount;
+    private BigDecimal totalAmount;
+}
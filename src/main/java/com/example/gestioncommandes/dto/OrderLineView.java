@@ -0,0 +1,23 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One row per order item (item columns are null for an order without items), read with a single join query
+public record OrderLineView(
+        Long orderId,
+        Long clientId,
+        String clientName,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String source,
+        Long itemId,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal) {
+}
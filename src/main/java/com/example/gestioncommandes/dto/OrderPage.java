@@ -0,0 +1,16 @@
+package com.example.gestioncommandes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPage {
+    private List<OrderResponse> orders;
+    private String nextCursor; // pass back as cursor to read the following page, null on the last page
+    private boolean hasNext;
+}
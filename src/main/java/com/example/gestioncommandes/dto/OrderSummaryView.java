@@ -0,0 +1,17 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Order header columns only, for listings that do not need the items
+public record OrderSummaryView(
+        Long orderId,
+        Long clientId,
+        String clientName,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String source) {
+}
@@ -0,0 +1,5 @@
+package com.example.gestioncommandes.dto;
+
+// Total quantity of one product over a set of order items
+public record ProductQuantity(Long productId, Long quantity) {
+}
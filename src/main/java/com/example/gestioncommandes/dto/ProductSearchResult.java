@@ -0,0 +1,19 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResult {
+    private List<Product> products;
+    private long totalHits;
+    private int page;
+    private int size;
+    private List<CategoryCount> categories; // counted without the category filter, so other categories stay visible
+}
@@ -0,0 +1,25 @@
+package com.example.gestioncommandes.dto;
+
+import com.example.gestioncommandes.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusChangeResult {
+    private Long orderId;
+    private boolean success;
+    private OrderStatus previousStatus; // null when the order does not exist
+    private OrderStatus status; // status after the request, unchanged on failure
+    private String error;
+
+    public static StatusChangeResult changed(Long orderId, OrderStatus previousStatus, OrderStatus status) {
+        return new StatusChangeResult(orderId, true, previousStatus, status, null);
+    }
+
+    public static StatusChangeResult failed(Long orderId, OrderStatus currentStatus, String error) {
+        return new StatusChangeResult(orderId, false, currentStatus, currentStatus, error);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.gestioncommandes.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code grpc.client.round-trip}, the time between sending a request message and
+ * receiving its response, and {@code grpc.client.errors} for calls closed with a non-OK status.
+ * Responses are paired with requests in order, which holds for unary calls and for the
+ * {@code StreamNotifications} batch/ack stream; other streaming shapes only count errors.
+ */
+@GrpcGlobalClientInterceptor
+public class GrpcClientMetricsInterceptor implements ClientInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        String methodName = method.getFullMethodName();
+        boolean paired = method.getType() == MethodDescriptor.MethodType.UNARY
+                || method.getType() == MethodDescriptor.MethodType.BIDI_STREAMING;
+        Timer roundTrip = Timer.builder("grpc.client.round-trip")
+                .description("gRPC request to response latency seen by the client")
+                .tag("method", methodName)
+                .register(meterRegistry);
+        Queue<Long> sentAt = new ConcurrentLinkedQueue<>();
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        Long sent = sentAt.poll();
+                        if (sent != null) {
+                            roundTrip.record(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+                        }
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        if (!status.isOk()) {
+                            Counter.builder("grpc.client.errors")
+                                    .description("gRPC calls closed with a non-OK status")
+                                    .tag("method", methodName)
+                                    .tag("status", status.getCode().name())
+                                    .register(meterRegistry)
+                                    .increment();
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (paired) {
+                    sentAt.add(System.nanoTime());
+                }
+                super.sendMessage(message);
+            }
+        };
+    }
+}
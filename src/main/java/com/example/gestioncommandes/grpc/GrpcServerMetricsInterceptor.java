@@ -0,0 +1,90 @@
+package com.example.gestioncommandes.grpc;
+
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Times the service handler of every gRPC method as {@code grpc.server.handling} and counts
+ * failed calls as {@code grpc.server.errors}. For streaming requests, such as
+ * {@code StreamNotifications}, each inbound message is timed on its own since the call itself
+ * stays open for the life of the client. Hibernate statements run by the handler are recorded
+ * under {@code orders.requests.statements} with the HTTP protocols.
+ */
+@GrpcGlobalServerInterceptor
+public class GrpcServerMetricsInterceptor implements ServerInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        boolean perMessage = !call.getMethodDescriptor().getType().clientSendsOneMessage();
+        Timer handling = Timer.builder("grpc.server.handling")
+                .description("gRPC service handler latency")
+                .tag("method", method)
+                .register(meterRegistry);
+        DistributionSummary statements = DistributionSummary.builder("orders.requests.statements")
+                .description("Hibernate statements prepared per request")
+                .tag("protocol", "grpc")
+                .register(meterRegistry);
+
+        ServerCall<ReqT, RespT> monitored = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (!status.isOk()) {
+                    Counter.builder("grpc.server.errors")
+                            .description("gRPC calls closed with a non-OK status")
+                            .tag("method", method)
+                            .tag("status", status.getCode().name())
+                            .register(meterRegistry)
+                            .increment();
+                }
+                super.close(status, trailers);
+            }
+        };
+
+        // Unary and server streaming handlers run in onHalfClose, streaming requests in onMessage
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(monitored, headers)) {
+            @Override
+            public void onMessage(ReqT message) {
+                if (perMessage) {
+                    measure(() -> super.onMessage(message));
+                } else {
+                    super.onMessage(message);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (perMessage) {
+                    super.onHalfClose();
+                } else {
+                    measure(super::onHalfClose);
+                }
+            }
+
+            private void measure(Runnable work) {
+                long statementsBefore = SqlStatementInspector.current();
+                try {
+                    handling.record(work);
+                } finally {
+                    statements.record(SqlStatementInspector.current() - statementsBefore);
+                }
+            }
+        };
+    }
+}
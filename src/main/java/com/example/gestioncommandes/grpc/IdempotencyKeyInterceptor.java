@@ -0,0 +1,31 @@
+package com.example.gestioncommandes.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies the {@code idempotency-key} request metadata into the call {@link Context}, where
+ * {@link OrderGrpcService} reads it with {@link #IDEMPOTENCY_KEY}.
+ */
+@Component
+public class IdempotencyKeyInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> HEADER = Metadata.Key.of("idempotency-key", Metadata.ASCII_STRING_MARSHALLER);
+
+    public static final Context.Key<String> IDEMPOTENCY_KEY = Context.key("idempotency-key");
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String key = headers.get(HEADER);
+        if (key == null) {
+            return next.startCall(call, headers);
+        }
+        return Contexts.interceptCall(Context.current().withValue(IDEMPOTENCY_KEY, key), call, headers, next);
+    }
+}
@@ -1,20 +1,85 @@
 package com.example.gestioncommandes.grpc;
 
-import com.example.gestioncommandes.grpc.NotificationResponse;
 import com.example.gestioncommandes.grpc.NotificationServiceGrpc;
 import com.example.gestioncommandes.grpc.OrderNotification;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends order notifications over a single long-lived {@code StreamNotifications} call.
+ * Published notifications are coalesced for up to {@code notification.stream.window-ms} or
+ * {@code notification.stream.max-batch-size} entries and written as one {@link NotificationBatch};
+ * the returned future completes when the server acknowledges that batch, or fails when no
+ * acknowledgement arrived within {@code notification.outbox.ack-timeout-ms}.
+ */
 @Component
 public class NotificationGrpcClient {
 
+    private static final Logger logger = LoggerFactory.getLogger(NotificationGrpcClient.class);
+
     @GrpcClient("notification")
-    private NotificationServiceGrpc.NotificationServiceBlockingStub stub;
+    private NotificationServiceGrpc.NotificationServiceStub asyncStub;
+
+    @Value("${notification.stream.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${notification.stream.window-ms:20}")
+    private long windowMs;
+
+    // Same deadline as the outbox dispatcher, which republishes the batch once it has passed
+    @Value("${notification.outbox.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
 
-    public void notifyOrderCreated(Long orderId, Long clientId, String clientName,
-                                   String status, Double totalAmount) {
-        OrderNotification notification = OrderNotification.newBuilder()
+    private final BlockingQueue<PendingNotification> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, CompletableFuture<NotificationBatchAck>> awaitingAck = new ConcurrentHashMap<>();
+    private final AtomicLong batchIds = new AtomicLong();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-stream-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only the flusher thread opens or writes to the stream; the response observer only clears it
+    private volatile StreamObserver<NotificationBatch> stream;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void start() {
+        flusher.submit(this::flushLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        flusher.shutdownNow();
+        StreamObserver<NotificationBatch> current = stream;
+        if (current != null) {
+            current.onCompleted();
+        }
+    }
+
+    public CompletableFuture<NotificationBatchAck> publish(OrderNotification notification) {
+        PendingNotification pending = new PendingNotification(notification, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    public static OrderNotification orderCreated(Long orderId, Long clientId, String clientName,
+                                                 String status, Double totalAmount) {
+        return OrderNotification.newBuilder()
+                .setType(OrderNotification.Type.ORDER_CREATED)
                 .setOrderId(orderId)
                 .setClientId(clientId)
                 .setClientName(clientName)
@@ -22,30 +87,116 @@ public class NotificationGrpcClient {
                 .setTotalAmount(totalAmount)
                 .setMessage("New order created successfully")
                 .build();
-
-        try {
-            NotificationResponse response = stub.notifyOrderCreated(notification);
-            System.out.println("gRPC Notification sent: " + response.getMessage());
-        } catch (Exception e) {
-            System.err.println("Failed to send gRPC notification: " + e.getMessage());
-        }
     }
 
-    public void notifyOrderStatusChanged(Long orderId, Long clientId, String clientName, String newStatus) {
-        OrderNotification notification = OrderNotification.newBuilder()
+    public static OrderNotification orderStatusChanged(Long orderId, Long clientId, String clientName, String newStatus) {
+        return OrderNotification.newBuilder()
+                .setType(OrderNotification.Type.ORDER_STATUS_CHANGED)
                 .setOrderId(orderId)
                 .setClientId(clientId)
                 .setClientName(clientName)
                 .setStatus(newStatus)
                 .setMessage("Order status updated to: " + newStatus)
                 .build();
+    }
+
+    private void flushLoop() {
+        List<PendingNotification> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingNotification first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingNotification next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+            batch = new ArrayList<>(maxBatchSize);
+        }
+    }
+
+    private void send(List<PendingNotification> batch) {
+        long batchId = batchIds.incrementAndGet();
+        NotificationBatch.Builder message = NotificationBatch.newBuilder().setBatchId(batchId);
+        batch.forEach(pending -> message.addNotifications(pending.notification()));
 
+        CompletableFuture<NotificationBatchAck> ack = new CompletableFuture<>();
+        awaitingAck.put(batchId, ack);
+        // A lost acknowledgement must not keep the batch here forever
+        ack.orTimeout(ackTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+            awaitingAck.remove(batchId);
+            for (PendingNotification pending : batch) {
+                if (error == null) {
+                    pending.result().complete(result);
+                } else {
+                    pending.result().completeExceptionally(error);
+                }
+            }
+        });
         try {
-            NotificationResponse response = stub.notifyOrderStatusChanged(notification);
-            System.out.println("gRPC Notification sent: " + response.getMessage());
-        } catch (Exception e) {
-            System.err.println("Failed to send gRPC notification: " + e.getMessage());
+            openStream().onNext(message.build());
+        } catch (RuntimeException e) {
+            ack.completeExceptionally(e);
+            throw e;
         }
     }
-}
 
+    private StreamObserver<NotificationBatch> openStream() {
+        StreamObserver<NotificationBatch> current = stream;
+        if (current == null) {
+            current = asyncStub.streamNotifications(new AckObserver());
+            stream = current;
+        }
+        return current;
+    }
+
+    private void failAwaiting(Throwable cause) {
+        awaitingAck.values().forEach(ack -> ack.completeExceptionally(cause));
+    }
+
+    private class AckObserver implements StreamObserver<NotificationBatchAck> {
+
+        @Override
+        public void onNext(NotificationBatchAck ack) {
+            CompletableFuture<NotificationBatchAck> awaiting = awaitingAck.get(ack.getBatchId());
+            if (awaiting == null) {
+                // Already timed out, the dispatcher has rescheduled these notifications
+                return;
+            }
+            logger.debug("Notification batch {} acknowledged: {} accepted", ack.getBatchId(), ack.getAccepted());
+            if (ack.getSuccess()) {
+                awaiting.complete(ack);
+            } else {
+                awaiting.completeExceptionally(new IllegalStateException(ack.getMessage()));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // The next flush reopens the stream; unacknowledged batches are retried by their publisher
+            stream = null;
+            logger.warn("Notification stream failed: {}", t.getMessage());
+            failAwaiting(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            stream = null;
+            failAwaiting(new IllegalStateException("Notification stream closed by server"));
+        }
+    }
+
+    private record PendingNotification(OrderNotification notification, CompletableFuture<NotificationBatchAck> result) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.gestioncommandes.grpc;
+
+import com.example.gestioncommandes.model.NotificationType;
+import com.example.gestioncommandes.model.OutboxNotification;
+import com.example.gestioncommandes.repository.OutboxNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox in batches and publishes them on the notification stream. Failed entries stay in the outbox and are retried with exponential backoff.
+ * <p>
+ * Several instances can share the outbox: a batch is claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED} and
+ * leased by moving its {@code next_attempt_at} past the acknowledgement deadline before anything is published, so
+ * other dispatchers neither wait for nor see it. Entries of an instance that dies while holding a lease become due
+ * again when the lease ends.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private final OutboxNotificationRepository outboxRepository;
+    private final NotificationGrpcClient notificationClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${notification.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notification.outbox.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    @Value("${notification.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${notification.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Autowired
+    public NotificationOutboxDispatcher(OutboxNotificationRepository outboxRepository,
+                                        NotificationGrpcClient notificationClient,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.notificationClient = notificationClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatchedCounter = Counter.builder("notification.outbox.dispatched")
+                .description("Outbox notifications delivered to the notification service")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.outbox.failed")
+                .description("Outbox notification delivery attempts that failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notification.outbox.batch")
+                .description("Time spent dispatching one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.pending", pending, AtomicLong::get)
+                .description("Notifications waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age in seconds of the oldest notification waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:200}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = batchTimer.record(this::dispatchBatch);
+        } while (dispatched == batchSize);
+        updateBacklogMetrics();
+    }
+
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxNotification> batch = claimBatch(now);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Publish the whole batch first so the client can coalesce it into few stream messages
+        List<CompletableFuture<NotificationBatchAck>> acks = new ArrayList<>(batch.size());
+        for (OutboxNotification notification : batch) {
+            acks.add(notificationClient.publish(toNotification(notification)));
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<OutboxNotification> failed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxNotification notification = batch.get(i);
+            try {
+                acks.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.add(notification.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scheduleRetry(notification, now, e);
+                failed.add(notification);
+            } catch (ExecutionException e) {
+                scheduleRetry(notification, now, e.getCause() instanceof Exception cause ? cause : e);
+                failed.add(notification);
+            } catch (TimeoutException e) {
+                scheduleRetry(notification, now, new TimeoutException("No acknowledgement within " + ackTimeoutMs + " ms"));
+                failed.add(notification);
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+            dispatchedCounter.increment(delivered.size());
+        }
+        if (!failed.isEmpty()) {
+            outboxRepository.saveAll(failed);
+            failedCounter.increment(failed.size());
+        }
+        // A batch with failures is not drained again in the same poll, the entries are backing off
+        return failed.isEmpty() ? batch.size() : 0;
+    }
+
+    // Twice the ack timeout, so the lease outlives the wait for acknowledgements
+    private List<OutboxNotification> claimBatch(LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxNotification> due = outboxRepository.findDueForUpdate(now, batchSize);
+            if (!due.isEmpty()) {
+                outboxRepository.leaseUntil(due.stream().map(OutboxNotification::getId).toList(),
+                        now.plus(Duration.ofMillis(2 * ackTimeoutMs)));
+            }
+            return due;
+        });
+    }
+
+    private OrderNotification toNotification(OutboxNotification notification) {
+        if (notification.getType() == NotificationType.ORDER_CREATED) {
+            return NotificationGrpcClient.orderCreated(
+                    notification.getOrderId(),
+                    notification.getClientId(),
+                    notification.getClientName(),
+                    notification.getStatus(),
+                    notification.getTotalAmount() != null ? notification.getTotalAmount().doubleValue() : 0.0);
+        }
+        return NotificationGrpcClient.orderStatusChanged(
+                notification.getOrderId(),
+                notification.getClientId(),
+                notification.getClientName(),
+                notification.getStatus());
+    }
+
+    private void scheduleRetry(OutboxNotification notification, LocalDateTime now, Exception error) {
+        int attempts = notification.getAttempts() + 1;
+        long backoffMs = initialBackoffMs << Math.min(attempts - 1, 20);
+        notification.setAttempts(attempts);
+        notification.setNextAttemptAt(now.plus(Duration.ofMillis(Math.min(backoffMs, maxBackoffMs))));
+        notification.setLastError(truncate(error.getMessage()));
+        logger.warn("Notification delivery failed for order {} (attempt {}): {}",
+                notification.getOrderId(), attempts, error.getMessage());
+    }
+
+    private void updateBacklogMetrics() {
+        pending.set(outboxRepository.count());
+        lagMillis.set(outboxRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 255) {
+            return message;
+        }
+        return message.substring(0, 255);
+    }
+}
@@ -15,27 +15,7 @@ public class NotificationServiceImpl extends NotificationServiceGrpc.Notificatio
 
     @Override
     public void notifyOrderCreated(OrderNotification request, StreamObserver<NotificationResponse> responseObserver) {
-        // Format and log the notification
-        String notification = String.format("""
-                
-                ===================================
-                === Order Created Notification ===
-                ===================================
-                Order ID: %d
-                Client: %s (ID: %d)
-                Total Amount: $%.2f
-                Status: %s
-                Message: %s
-                ===================================
-                """,
-                request.getOrderId(),
-                request.getClientName(),
-                request.getClientId(),
-                request.getTotalAmount(),
-                request.getStatus(),
-                request.getMessage());
-
-        logger.info(notification);
+        handleOrderCreated(request);
 
         // Simulate notification processing (email, SMS, push notification, etc.)
         NotificationResponse response = NotificationResponse.newBuilder()
@@ -49,25 +29,7 @@ public class NotificationServiceImpl extends NotificationServiceGrpc.Notificatio
 
     @Override
     public void notifyOrderStatusChanged(OrderNotification request, StreamObserver<NotificationResponse> responseObserver) {
-        // Format and log the notification
-        String notification = String.format("""
-                
-                =========================================
-                === Order Status Changed Notification ===
-                =========================================
-                Order ID: %d
-                Client: %s (ID: %d)
-                New Status: %s
-                Message: %s
-                =========================================
-                """,
-                request.getOrderId(),
-                request.getClientName(),
-                request.getClientId(),
-                request.getStatus(),
-                request.getMessage());
-
-        logger.info(notification);
+        handleOrderStatusChanged(request);
 
         // Simulate notification processing
         NotificationResponse response = NotificationResponse.newBuilder()
@@ -78,5 +40,71 @@ public class NotificationServiceImpl extends NotificationServiceGrpc.Notificatio
         responseObserver.onNext(response);
         responseObserver.onCompleted();
     }
-}
 
+    @Override
+    public StreamObserver<NotificationBatch> streamNotifications(StreamObserver<NotificationBatchAck> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(NotificationBatch batch) {
+                int accepted = 0;
+                for (OrderNotification notification : batch.getNotificationsList()) {
+                    switch (notification.getType()) {
+                        case ORDER_CREATED -> handleOrderCreated(notification);
+                        case ORDER_STATUS_CHANGED -> handleOrderStatusChanged(notification);
+                        default -> {
+                            // Sent without a type, or by a newer sender: guessing would misreport the event
+                            logger.warn("Skipping notification of order {} with type {}",
+                                    notification.getOrderId(), notification.getTypeValue());
+                            continue;
+                        }
+                    }
+                    accepted++;
+                }
+
+                logger.atInfo()
+                        .addKeyValue("event", "notification.batch")
+                        .addKeyValue("batchId", batch.getBatchId())
+                        .addKeyValue("count", batch.getNotificationsCount())
+                        .log("Notification batch sent");
+
+                // One ack per batch instead of one response per notification
+                responseObserver.onNext(NotificationBatchAck.newBuilder()
+                        .setBatchId(batch.getBatchId())
+                        .setSuccess(true)
+                        .setAccepted(accepted)
+                        .setMessage("Notification batch sent successfully")
+                        .build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.warn("Notification stream aborted by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    // Structured fields instead of a formatted banner; nothing is built when DEBUG is off
+    private void handleOrderCreated(OrderNotification request) {
+        logger.atDebug()
+                .addKeyValue("event", "order.created")
+                .addKeyValue("orderId", request.getOrderId())
+                .addKeyValue("clientId", request.getClientId())
+                .addKeyValue("totalAmount", request.getTotalAmount())
+                .addKeyValue("status", request.getStatus())
+                .log("Order created notification sent");
+    }
+
+    private void handleOrderStatusChanged(OrderNotification request) {
+        logger.atDebug()
+                .addKeyValue("event", "order.status_changed")
+                .addKeyValue("orderId", request.getOrderId())
+                .addKeyValue("clientId", request.getClientId())
+                .addKeyValue("status", request.getStatus())
+                .log("Order status notification sent");
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.gestioncommandes.grpc;
+
+import com.example.gestioncommandes.dto.BulkOrderResult;
+import com.example.gestioncommandes.service.NotFoundException;
+import com.example.gestioncommandes.service.OrderService;
+import com.example.gestioncommandes.service.StatusTransitionException;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.gestioncommandes.grpc.OrderProtoMapper.toOrder;
+import static com.example.gestioncommandes.grpc.OrderProtoMapper.toOrderRequest;
+import static com.example.gestioncommandes.grpc.OrderProtoMapper.toResult;
+
+/**
+ * Binary order API for internal callers, backed by the same {@link OrderService} as the REST,
+ * SOAP and GraphQL endpoints. {@code CreateOrder} honours an {@code idempotency-key} metadata entry;
+ * {@code CreateOrders} rejects one with {@code INVALID_ARGUMENT}.
+ */
+@GrpcService(interceptors = IdempotencyKeyInterceptor.class)
+public class OrderGrpcService extends OrderServiceGrpc.OrderServiceImplBase {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Value("${orders.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${orders.grpc.list-page-size:100}")
+    private int listPageSize;
+
+    @Override
+    public void createOrder(CreateOrderRequest request, StreamObserver<Order> responseObserver) {
+        try {
+            com.example.gestioncommandes.dto.CreateOrderRequest orderRequest = toOrderRequest(request);
+            orderRequest.setIdempotencyKey(IdempotencyKeyInterceptor.IDEMPOTENCY_KEY.get());
+            responseObserver.onNext(toOrder(orderService.createOrder(orderRequest)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void getOrder(GetOrderRequest request, StreamObserver<Order> responseObserver) {
+        try {
+            responseObserver.onNext(toOrder(orderService.getOrderById(request.getOrderId())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void listClientOrders(ListClientOrdersRequest request, StreamObserver<Order> responseObserver) {
+        ClientOrderPager pager = new ClientOrderPager(request.getClientId(), (ServerCallStreamObserver<Order>) responseObserver);
+        pager.call.setOnReadyHandler(pager);
+        pager.run();
+    }
+
+    @Override
+    public StreamObserver<CreateOrderRequest> createOrders(StreamObserver<CreateOrdersResponse> responseObserver) {
+        // Only CreateOrder is replayable, refuse the key rather than ignore it
+        boolean keyed = IdempotencyKeyInterceptor.IDEMPOTENCY_KEY.get() != null;
+        if (keyed) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("idempotency-key is only supported by CreateOrder")
+                    .asRuntimeException());
+        }
+        return new StreamObserver<>() {
+
+            private final List<com.example.gestioncommandes.dto.CreateOrderRequest> pending = new ArrayList<>(bulkChunkSize);
+            private final CreateOrdersResponse.Builder response = CreateOrdersResponse.newBuilder();
+            private int received;
+            private boolean failed = keyed;
+
+            @Override
+            public void onNext(CreateOrderRequest request) {
+                if (failed) {
+                    return;
+                }
+                pending.add(toOrderRequest(request));
+                received++;
+                if (pending.size() >= bulkChunkSize) {
+                    try {
+                        flush();
+                    } catch (RuntimeException e) {
+                        failed = true;
+                        responseObserver.onError(toStatus(e));
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Chunks already written stay committed; the caller sees which ones from a retry
+                failed = true;
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                try {
+                    flush();
+                    responseObserver.onNext(response.build());
+                    responseObserver.onCompleted();
+                } catch (RuntimeException e) {
+                    responseObserver.onError(toStatus(e));
+                }
+            }
+
+            private void flush() {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                int offset = received - pending.size();
+                for (BulkOrderResult result : orderService.createOrders(pending)) {
+                    response.addResults(toResult(offset + result.getIndex(), result));
+                    if (result.isSuccess()) {
+                        response.setCreated(response.getCreated() + 1);
+                    } else {
+                        response.setFailed(response.getFailed() + 1);
+                    }
+                }
+                pending.clear();
+            }
+        };
+    }
+
+    // Other OrderService failures are validation errors reported with plain RuntimeExceptions
+    private static Throwable toStatus(RuntimeException e) {
+        if (e instanceof io.grpc.StatusRuntimeException) {
+            return e;
+        }
+        Status status;
+        if (e instanceof NotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (e instanceof StatusTransitionException) {
+            status = Status.FAILED_PRECONDITION;
+        } else {
+            status = Status.INVALID_ARGUMENT;
+        }
+        return status.withDescription(e.getMessage()).asRuntimeException();
+    }
+
+    /**
+     * Sends the orders of a client one page at a time, newest first, and only while the transport
+     * is ready; the on-ready handler resumes it. A slow consumer leaves at most one page buffered
+     * and no transaction open between pages.
+     */
+    private final class ClientOrderPager implements Runnable {
+
+        private final Long clientId;
+        private final ServerCallStreamObserver<Order> call;
+        private String cursor;
+        private boolean done;
+
+        ClientOrderPager(Long clientId, ServerCallStreamObserver<Order> call) {
+            this.clientId = clientId;
+            this.call = call;
+        }
+
+        // Runs on the call's serializing executor, never concurrently with itself
+        @Override
+        public void run() {
+            try {
+                while (!done && call.isReady() && !call.isCancelled()) {
+                    com.example.gestioncommandes.dto.OrderPage page = orderService.getClientOrdersPage(clientId, cursor, listPageSize);
+                    page.getOrders().forEach(order -> call.onNext(toOrder(order)));
+                    cursor = page.getNextCursor();
+                    if (!page.isHasNext()) {
+                        done = true;
+                        call.onCompleted();
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                if (!call.isCancelled()) {
+                    call.onError(toStatus(e));
+                }
+            }
+        }
+    }
+}
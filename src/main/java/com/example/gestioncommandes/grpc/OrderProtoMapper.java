@@ -0,0 +1,81 @@
+package com.example.gestioncommandes.grpc;
+
+import com.example.gestioncommandes.dto.BulkOrderResult;
+import com.example.gestioncommandes.dto.OrderItemResponse;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.google.protobuf.Timestamp;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversions between the order DTOs and the messages of {@code order_service.proto}, shared by
+ * the gRPC service and the protobuf representation of the REST order API.
+ */
+public final class OrderProtoMapper {
+
+    private static final BigDecimal NANOS_PER_UNIT = BigDecimal.valueOf(1_000_000_000L);
+
+    private OrderProtoMapper() {
+    }
+
+    public static com.example.gestioncommandes.dto.CreateOrderRequest toOrderRequest(CreateOrderRequest request) {
+        List<com.example.gestioncommandes.dto.OrderItemRequest> items = new ArrayList<>(request.getItemsCount());
+        for (OrderItemRequest item : request.getItemsList()) {
+            items.add(new com.example.gestioncommandes.dto.OrderItemRequest(item.getProductId(), item.getQuantity()));
+        }
+        // proto3 reads an unset source as "", OrderService applies its default to null only
+        String source = request.getSource().isBlank() ? null : request.getSource();
+        return new com.example.gestioncommandes.dto.CreateOrderRequest(request.getClientId(), items, source);
+    }
+
+    public static Order toOrder(OrderResponse response) {
+        Instant orderDate = response.getOrderDate().atZone(ZoneId.systemDefault()).toInstant();
+        Order.Builder order = Order.newBuilder()
+                .setId(response.getId())
+                .setClientId(response.getClientId())
+                .setClientName(response.getClientName())
+                .setOrderDate(Timestamp.newBuilder()
+                        .setSeconds(orderDate.getEpochSecond())
+                        .setNanos(orderDate.getNano()))
+                .setStatus(OrderStatus.valueOf(response.getStatus().name()))
+                .setTotalAmount(toMoney(response.getTotalAmount()))
+                .setSource(response.getSource() != null ? response.getSource() : "");
+        for (OrderItemResponse item : response.getItems()) {
+            order.addItems(OrderItem.newBuilder()
+                    .setId(item.getId())
+                    .setProductId(item.getProductId())
+                    .setProductName(item.getProductName())
+                    .setQuantity(item.getQuantity())
+                    .setUnitPrice(toMoney(item.getUnitPrice()))
+                    .setSubtotal(toMoney(item.getSubtotal())));
+        }
+        return order.build();
+    }
+
+    public static CreateOrderResult toResult(int index, BulkOrderResult result) {
+        CreateOrderResult.Builder builder = CreateOrderResult.newBuilder()
+                .setIndex(index)
+                .setSuccess(result.isSuccess());
+        if (result.isSuccess()) {
+            builder.setOrderId(result.getOrderId()).setTotalAmount(toMoney(result.getTotalAmount()));
+        } else {
+            builder.setError(result.getError());
+        }
+        return builder.build();
+    }
+
+    public static Money toMoney(BigDecimal amount) {
+        if (amount == null) {
+            return Money.getDefaultInstance();
+        }
+        BigDecimal value = amount.setScale(9, RoundingMode.HALF_EVEN);
+        long units = value.longValue();
+        int nanos = value.subtract(BigDecimal.valueOf(units)).multiply(NANOS_PER_UNIT).intValueExact();
+        return Money.newBuilder().setUnits(units).setNanos(nanos).build();
+    }
+}
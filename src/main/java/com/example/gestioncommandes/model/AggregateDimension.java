@@ -0,0 +1,7 @@
+package com.example.gestioncommandes.model;
+
+public enum AggregateDimension {
+    ALL,    // every order, under the single key "ALL"
+    CLIENT, // keyed by client id
+    SOURCE  // keyed by order source: e-commerce, mobile, B2B
+}
@@ -0,0 +1,11 @@
+package com.example.gestioncommandes.model;
+
+/**
+ * What a bulk import file contains. Watched files are recognized by their name starting with
+ * the lower-case type, e.g. {@code products-2024-01-15.csv}.
+ */
+public enum ImportType {
+    PRODUCTS,
+    CLIENTS,
+    ORDERS
+}
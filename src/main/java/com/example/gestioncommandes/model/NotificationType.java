@@ -0,0 +1,6 @@
+package com.example.gestioncommandes.model;
+
+public enum NotificationType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED
+}
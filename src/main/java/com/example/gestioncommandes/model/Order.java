@@ -11,14 +11,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_client_date", columnList = "client_id, order_date DESC, id DESC"),
+        @Index(name = "idx_orders_client_status", columnList = "client_id, status"),
+        @Index(name = "idx_orders_status", columnList = "status"),
+        @Index(name = "idx_orders_source", columnList = "source"),
+        @Index(name = "idx_orders_date_id", columnList = "order_date DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,30 @@
+package com.example.gestioncommandes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Running order count and amount for one dimension key, status and period. Rows are maintained
+ * incrementally by {@code OrderAggregateService} as orders are created and change status.
+ */
+@Entity
+@Table(name = "order_aggregates",
+        indexes = @Index(name = "idx_order_aggregates_period", columnList = "dimension, period, dim_key"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAggregate {
+
+    @EmbeddedId
+    private OrderAggregateKey key;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+}
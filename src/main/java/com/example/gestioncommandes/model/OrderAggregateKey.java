@@ -0,0 +1,31 @@
+package com.example.gestioncommandes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAggregateKey implements Serializable {
+
+    public static final String ALL = "ALL";
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AggregateDimension dimension;
+
+    @Column(nullable = false)
+    private String dimKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private String period; // ISO order day (yyyy-MM-dd), or ALL for all time
+}
@@ -1,11 +1,47 @@
 package com.example.gestioncommandes.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Order lifecycle. An order moves forward one step at a time and can be cancelled until it
+ * ships; DELIVERED and CANCELLED are final.
+ */
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
-}
+    CANCELLED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PROCESSING, CANCELLED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
 
+        for (OrderStatus status : values()) {
+            SOURCES.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(target -> SOURCES.get(target).add(from)));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * The statuses an order can be in to move to {@code target}.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        return EnumSet.copyOf(SOURCES.get(target));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.gestioncommandes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_outbox_next_attempt", columnList = "next_attempt_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long clientId;
+
+    private String clientName;
+
+    @Column(nullable = false)
+    private String status;
+
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (attempts == null) {
+            attempts = 0;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.gestioncommandes.repository;
+
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Batched JDBC writes used by file imports of products and clients. Callers must run inside a
+ * transaction; rows are sent in JDBC batches of {@code batchSize}.
+ */
+@Repository
+public class CatalogImportRepository {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+
+    /**
+     * Updates existing products by id and returns the ids that matched no row.
+     */
+    public List<Long> updateProducts(List<Product> products, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE products SET name = ?, description = ?, price = ?, stock_quantity = ?, category = ? WHERE id = ?",
+                products, batchSize, (ps, product) -> {
+                    ps.setString(1, product.getName());
+                    ps.setString(2, product.getDescription());
+                    ps.setBigDecimal(3, product.getPrice());
+                    ps.setInt(4, product.getStockQuantity());
+                    ps.setString(5, product.getCategory());
+                    ps.setLong(6, product.getId());
+                });
+        return unmatched(products, counts, Product::getId);
+    }
+
+    /**
+     * Inserts new products, setting the ids allocated for them on the entities.
+     */
+    public void insertProducts(List<Product> products, int batchSize) {
+        long[] ids = idAllocator.allocate("products_seq", products.size());
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO products (id, name, description, price, stock_quantity, category) VALUES (?, ?, ?, ?, ?, ?)",
+                products, batchSize, (ps, product) -> {
+                    ps.setLong(1, product.getId());
+                    ps.setString(2, product.getName());
+                    ps.setString(3, product.getDescription());
+                    ps.setBigDecimal(4, product.getPrice());
+                    ps.setInt(5, product.getStockQuantity());
+                    ps.setString(6, product.getCategory());
+                });
+    }
+
+    public List<Long> updateClients(List<Client> clients, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE clients SET name = ?, email = ?, phone = ?, address = ? WHERE id = ?",
+                clients, batchSize, (ps, client) -> {
+                    ps.setString(1, client.getName());
+                    ps.setString(2, client.getEmail());
+                    ps.setString(3, client.getPhone());
+                    ps.setString(4, client.getAddress());
+                    ps.setLong(5, client.getId());
+                });
+        return unmatched(clients, counts, Client::getId);
+    }
+
+    public void insertClients(List<Client> clients, int batchSize) {
+        long[] ids = idAllocator.allocate("clients_seq", clients.size());
+        for (int i = 0; i < clients.size(); i++) {
+            clients.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO clients (id, name, email, phone, address) VALUES (?, ?, ?, ?, ?)",
+                clients, batchSize, (ps, client) -> {
+                    ps.setLong(1, client.getId());
+                    ps.setString(2, client.getName());
+                    ps.setString(3, client.getEmail());
+                    ps.setString(4, client.getPhone());
+                    ps.setString(5, client.getAddress());
+                });
+    }
+
+    /**
+     * Returns the ids of the clients already registered with one of {@code emails}, keyed by email.
+     */
+    public Map<String, Long> findClientIdsByEmail(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> all = new ArrayList<>(emails);
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, all.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, email FROM clients WHERE email IN (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> ids.put(rs.getString("email"), rs.getLong("id")), chunk.toArray());
+        }
+        return ids;
+    }
+
+    private static <T> List<Long> unmatched(List<T> rows, int[][] counts, Function<T, Long> id) {
+        List<Long> missing = new ArrayList<>();
+        int row = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(id.apply(rows.get(row)));
+                }
+                row++;
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.gestioncommandes.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the {@code idempotency_keys} table. {@link #claim} and {@link #complete} must
+ * run in the transaction that creates the order.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the key, dropping an expired row left for it first. Throws
+     * {@link org.springframework.dao.DuplicateKeyException} when another request holds the key;
+     * if that request is still running, the insert first waits for it to finish.
+     */
+    public void claim(String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?",
+                key, Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) VALUES (?, ?, ?, ?)",
+                key, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt));
+    }
+
+    public void complete(String key, Long orderId, String response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET order_id = ?, response = ? WHERE idempotency_key = ?",
+                orderId, response, key);
+    }
+
+    public Optional<StoredResponse> find(String key, LocalDateTime now) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT request_hash, response, expires_at FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > ? AND response IS NOT NULL",
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getString(2), rs.getTimestamp(3).toLocalDateTime()),
+                key, Timestamp.valueOf(now));
+        return rows.stream().findFirst();
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", Timestamp.valueOf(now));
+    }
+
+    public record StoredResponse(String requestHash, String response, LocalDateTime expiresAt) {
+    }
+}
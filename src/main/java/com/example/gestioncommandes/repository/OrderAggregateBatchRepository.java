@@ -0,0 +1,144 @@
+package com.example.gestioncommandes.repository;
+
+import com.example.gestioncommandes.model.AggregateDimension;
+import com.example.gestioncommandes.model.OrderAggregate;
+import com.example.gestioncommandes.model.OrderAggregateKey;
+import com.example.gestioncommandes.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the order aggregates. Order transactions append deltas to
+ * {@code order_aggregate_deltas}; {@link #claimDeltas} and {@link #applyDeltas} fold them into
+ * {@code order_aggregates} with one batched MERGE, creating missing rows on the fly. Reads add
+ * the deltas not folded yet, in the same statement, so they never miss or count one twice.
+ */
+@Repository
+public class OrderAggregateBatchRepository {
+
+    private static final String INSERT_DELTA = "INSERT INTO order_aggregate_deltas "
+            + "(dimension, dim_key, status, period, order_count, total_amount) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String MERGE_DELTA = "MERGE INTO order_aggregates a "
+            + "USING (SELECT CAST(? AS VARCHAR(255)) AS dimension, CAST(? AS VARCHAR(255)) AS dim_key, "
+            + "CAST(? AS VARCHAR(255)) AS status, CAST(? AS VARCHAR(255)) AS period, "
+            + "CAST(? AS BIGINT) AS order_count, CAST(? AS NUMERIC(38, 2)) AS total_amount) d "
+            + "ON a.dimension = d.dimension AND a.dim_key = d.dim_key AND a.status = d.status AND a.period = d.period "
+            + "WHEN MATCHED THEN UPDATE SET order_count = a.order_count + d.order_count, "
+            + "total_amount = a.total_amount + d.total_amount "
+            + "WHEN NOT MATCHED THEN INSERT (dimension, dim_key, status, period, order_count, total_amount) "
+            + "VALUES (d.dimension, d.dim_key, d.status, d.period, d.order_count, d.total_amount)";
+
+    private static final String COLUMNS = "dimension, dim_key, status, period, order_count, total_amount";
+
+    // Folded rows and pending deltas of the keys matching %s, summed per key
+    private static final String SELECT_TOTALS = "SELECT dimension, dim_key, status, period, "
+            + "SUM(order_count), SUM(total_amount) FROM ("
+            + "SELECT " + COLUMNS + " FROM order_aggregates WHERE %1$s "
+            + "UNION ALL SELECT " + COLUMNS + " FROM order_aggregate_deltas WHERE %1$s"
+            + ") t GROUP BY dimension, dim_key, status, period";
+
+    private static final RowMapper<OrderAggregate> AGGREGATE = (rs, rowNum) -> new OrderAggregate(
+            new OrderAggregateKey(AggregateDimension.valueOf(rs.getString(1)), rs.getString(2),
+                    OrderStatus.valueOf(rs.getString(3)), rs.getString(4)),
+            rs.getLong(5), rs.getBigDecimal(6));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records count and amount deltas; must run in the transaction that wrote the orders.
+     */
+    public void insertDeltas(List<OrderAggregate> deltas) {
+        jdbcTemplate.batchUpdate(INSERT_DELTA, setter(deltas));
+    }
+
+    /**
+     * Locks and returns up to {@code limit} of the oldest deltas, skipping those another
+     * instance is folding, and deletes them; the caller applies them in the same transaction.
+     */
+    public List<OrderAggregate> claimDeltas(int limit) {
+        List<Long> ids = new ArrayList<>();
+        List<OrderAggregate> deltas = jdbcTemplate.query("SELECT " + COLUMNS + ", id FROM order_aggregate_deltas "
+                        + "ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> {
+                    ids.add(rs.getLong(7));
+                    return AGGREGATE.mapRow(rs, rowNum);
+                }, limit);
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM order_aggregate_deltas WHERE id = ?", ids, ids.size(),
+                    (ps, id) -> ps.setLong(1, id));
+        }
+        return deltas;
+    }
+
+    /**
+     * Adds each delta's count and amount to its row. Deltas should be in a stable key order so
+     * that concurrent transactions lock rows in the same order.
+     */
+    public void applyDeltas(List<OrderAggregate> deltas) {
+        jdbcTemplate.batchUpdate(MERGE_DELTA, setter(deltas));
+    }
+
+    // At most one row per status
+    public List<OrderAggregate> findTotals(AggregateDimension dimension, String dimKey, String period) {
+        return jdbcTemplate.query(String.format(SELECT_TOTALS, "dimension = ? AND dim_key = ? AND period = ?"), AGGREGATE,
+                dimension.name(), dimKey, period, dimension.name(), dimKey, period);
+    }
+
+    public List<OrderAggregate> findTotals(AggregateDimension dimension, String period) {
+        return jdbcTemplate.query(String.format(SELECT_TOTALS, "dimension = ? AND period = ?"), AGGREGATE,
+                dimension.name(), period, dimension.name(), period);
+    }
+
+    /**
+     * Recomputes every aggregate row from the orders table, for data loaded outside
+     * {@code OrderService} such as bulk seeding.
+     */
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM order_aggregate_deltas");
+        jdbcTemplate.update("DELETE FROM order_aggregates");
+        String day = "CAST(CAST(order_date AS DATE) AS VARCHAR)";
+        String[][] groupings = {
+                {"'ALL'", "'ALL'"},
+                {"'CLIENT'", "CAST(client_id AS VARCHAR)"},
+                {"'SOURCE'", "source"}
+        };
+        for (String[] grouping : groupings) {
+            for (String period : new String[]{"'ALL'", day}) {
+                jdbcTemplate.update("INSERT INTO order_aggregates (dimension, dim_key, status, period, order_count, total_amount) "
+                        + "SELECT " + grouping[0] + ", " + grouping[1] + ", status, " + period + ", COUNT(*), "
+                        + "COALESCE(SUM(total_amount), 0) FROM orders WHERE " + grouping[1] + " IS NOT NULL "
+                        + "GROUP BY " + grouping[1] + ", status, " + period);
+            }
+        }
+    }
+
+    private static BatchPreparedStatementSetter setter(List<OrderAggregate> deltas) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderAggregate delta = deltas.get(i);
+                ps.setString(1, delta.getKey().getDimension().name());
+                ps.setString(2, delta.getKey().getDimKey());
+                ps.setString(3, delta.getKey().getStatus().name());
+                ps.setString(4, delta.getKey().getPeriod());
+                ps.setLong(5, delta.getOrderCount());
+                ps.setBigDecimal(6, delta.getTotalAmount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.gestioncommandes.repository;
+
+import com.example.gestioncommandes.model.NotificationType;
+import com.example.gestioncommandes.model.Order;
+import com.example.gestioncommandes.model.OrderItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-based JDBC writes used by bulk order creation. Callers must run inside a transaction.
+ */
+@Repository
+public class OrderBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+
+    /**
+     * Inserts the orders and their items with two JDBC batches. Ids are taken from the entity
+     * sequences in blocks, the same way Hibernate allocates them, and set on the entities first.
+     */
+    public void insertOrders(List<Order> orders) {
+        List<OrderItem> items = new ArrayList<>();
+        long[] orderIds = idAllocator.allocate("orders_seq", orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            order.setId(orderIds[i]);
+            items.addAll(order.getItems());
+        }
+        long[] itemIds = idAllocator.allocate("order_items_seq", items.size());
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(itemIds[i]);
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO orders (id, client_id, order_date, status, total_amount, source) VALUES (?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Order order = orders.get(i);
+                        ps.setLong(1, order.getId());
+                        ps.setLong(2, order.getClient().getId());
+                        ps.setTimestamp(3, Timestamp.valueOf(order.getOrderDate()));
+                        ps.setString(4, order.getStatus().name());
+                        ps.setBigDecimal(5, order.getTotalAmount());
+                        ps.setString(6, order.getSource());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                });
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, subtotal) VALUES (?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderItem item = items.get(i);
+                        ps.setLong(1, item.getId());
+                        ps.setLong(2, item.getOrder().getId());
+                        ps.setLong(3, item.getProduct().getId());
+                        ps.setInt(4, item.getQuantity());
+                        ps.setBigDecimal(5, item.getUnitPrice());
+                        ps.setBigDecimal(6, item.getSubtotal());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                });
+    }
+
+    public void insertOutboxNotifications(List<Order> orders, NotificationType type) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] ids = idAllocator.allocate("notification_outbox_seq", orders.size());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification_outbox (id, type, order_id, client_id, client_name, status, total_amount, "
+                        + "created_at, next_attempt_at, attempts) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Order order = orders.get(i);
+                        ps.setLong(1, ids[i]);
+                        ps.setString(2, type.name());
+                        ps.setLong(3, order.getId());
+                        ps.setLong(4, order.getClient().getId());
+                        ps.setString(5, order.getClient().getName());
+                        ps.setString(6, order.getStatus().name());
+                        ps.setBigDecimal(7, order.getTotalAmount());
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                });
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.gestioncommandes.repository;
 
+import com.example.gestioncommandes.dto.ProductQuantity;
 import com.example.gestioncommandes.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    @RestResource(exported = false)
+    @Query("SELECT new com.example.gestioncommandes.dto.ProductQuantity(i.product.id, SUM(i.quantity)) "
+            + "FROM OrderItem i WHERE i.order.id IN :orderIds GROUP BY i.product.id")
+    List<ProductQuantity> sumQuantitiesByProduct(Collection<Long> orderIds);
 }
 
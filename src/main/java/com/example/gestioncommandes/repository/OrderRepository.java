@@ -1,17 +1,47 @@
 package com.example.gestioncommandes.repository;
 
+import com.example.gestioncommandes.dto.OrderLineView;
+import com.example.gestioncommandes.dto.OrderSummaryView;
 import com.example.gestioncommandes.model.Order;
 import com.example.gestioncommandes.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 @RepositoryRestResource(path = "orders")
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Orders are written through OrderService only, which keeps stock and aggregates in step
+    @Override
+    @RestResource(exported = false)
+    <S extends Order> S save(S entity);
+
+    @Override
+    @RestResource(exported = false)
+    void deleteById(Long id);
+
+    @Override
+    @RestResource(exported = false)
+    void delete(Order entity);
+
     List<Order> findByClientId(Long clientId);
 
     List<Order> findByStatus(OrderStatus status);
@@ -20,5 +50,101 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("SELECT o FROM Order o WHERE o.client.id = :clientId AND o.status = :status")
     List<Order> findByClientIdAndStatus(Long clientId, OrderStatus status);
+
+    // Fetch plan loading the client, items and products with the order in a single statement
+
+    @RestResource(exported = false)
+    @EntityGraph(attributePaths = {"client", "items", "items.product"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findDetailedById(Long id);
+
+    // Status changes: rows are locked while they are checked against the transition table, and the
+    // loaded copies are read-only so only the set-based update below writes the status
+
+    @RestResource(exported = false)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT o FROM Order o JOIN FETCH o.client WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findForStatusChange(Collection<Long> ids);
+
+    @RestResource(exported = false)
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status WHERE o.id IN :ids AND o.status IN :from")
+    int updateStatus(Collection<Long> ids, OrderStatus status, Collection<OrderStatus> from);
+
+    // Flat projections, one row per order item, used to build OrderResponse without loading entities
+
+    String ORDER_LINE_SELECT = "SELECT new com.example.gestioncommandes.dto.OrderLineView("
+            + "o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount, o.source, "
+            + "i.id, p.id, p.name, i.quantity, i.unitPrice, i.subtotal) "
+            + "FROM Order o JOIN o.client c LEFT JOIN o.items i LEFT JOIN i.product p ";
+
+    @RestResource(exported = false)
+    @Query(ORDER_LINE_SELECT + "ORDER BY o.id, i.id")
+    List<OrderLineView> findAllOrderLines();
+
+    @RestResource(exported = false)
+    @Query(ORDER_LINE_SELECT + "WHERE c.id = :clientId ORDER BY o.id, i.id")
+    List<OrderLineView> findOrderLinesByClientId(Long clientId);
+
+    @RestResource(exported = false)
+    @Query(ORDER_LINE_SELECT + "WHERE o.id IN :ids ORDER BY o.orderDate DESC, o.id DESC, i.id")
+    List<OrderLineView> findOrderLinesByIdIn(Collection<Long> ids);
+
+    String ORDER_SUMMARY_SELECT = "SELECT new com.example.gestioncommandes.dto.OrderSummaryView("
+            + "o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount, o.source) "
+            + "FROM Order o JOIN o.client c ";
+
+    @RestResource(exported = false)
+    @Query(ORDER_SUMMARY_SELECT + "ORDER BY o.id")
+    List<OrderSummaryView> findAllOrderSummaries();
+
+    @RestResource(exported = false)
+    @Query(ORDER_SUMMARY_SELECT + "WHERE c.id = :clientId ORDER BY o.id")
+    List<OrderSummaryView> findOrderSummariesByClientId(Long clientId);
+
+    @RestResource(exported = false)
+    @Query(ORDER_SUMMARY_SELECT + "WHERE o.id IN :ids ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderSummaryView> findOrderSummariesByIdIn(Collection<Long> ids);
+
+    // Server-side cursor over every order line; must be consumed inside a transaction and closed
+    @RestResource(exported = false)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(ORDER_LINE_SELECT + "ORDER BY o.id, i.id")
+    Stream<OrderLineView> streamAllOrderLines();
+
+    @RestResource(exported = false)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(ORDER_LINE_SELECT + "WHERE c.id = :clientId ORDER BY o.id, i.id")
+    Stream<OrderLineView> streamOrderLinesByClientId(Long clientId);
+
+    // Keyset pagination over (orderDate DESC, id DESC): only ids are read, lines are loaded afterwards
+
+    @RestResource(exported = false)
+    @Query("SELECT o.id FROM Order o ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findFirstPageIds(Limit limit);
+
+    // The redundant orderDate <= bound gives the database an index range to start from
+    @RestResource(exported = false)
+    @Query("SELECT o.id FROM Order o WHERE o.orderDate <= :orderDate AND (o.orderDate < :orderDate OR o.id < :id) "
+            + "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findPageIdsAfter(LocalDateTime orderDate, Long id, Limit limit);
+
+    @RestResource(exported = false)
+    @Query("SELECT o.id FROM Order o WHERE o.client.id = :clientId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findFirstPageIdsByClientId(Long clientId, Limit limit);
+
+    @RestResource(exported = false)
+    @Query("SELECT o.id FROM Order o WHERE o.client.id = :clientId "
+            + "AND o.orderDate <= :orderDate AND (o.orderDate < :orderDate OR o.id < :id) "
+            + "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findPageIdsByClientIdAfter(Long clientId, LocalDateTime orderDate, Long id, Limit limit);
+
+    // The newest :limit order ids of each client, read along idx_orders_client_date
+    @RestResource(exported = false)
+    @Query(value = "SELECT id FROM (SELECT o.id, ROW_NUMBER() OVER "
+            + "(PARTITION BY o.client_id ORDER BY o.order_date DESC, o.id DESC) AS position "
+            + "FROM orders o WHERE o.client_id IN (:clientIds)) recent WHERE position <= :limit", nativeQuery = true)
+    List<Long> findRecentIdsByClientIdIn(Collection<Long> clientIds, int limit);
 }
 
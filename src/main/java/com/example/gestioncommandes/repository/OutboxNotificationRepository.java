@@ -0,0 +1,31 @@
+package com.example.gestioncommandes.repository;
+
+import com.example.gestioncommandes.model.OutboxNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RepositoryRestResource(exported = false)
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+
+    // Native because Hibernate's H2 dialect renders a SKIP LOCKED lock timeout as a plain FOR UPDATE,
+    // which would make a second dispatcher wait for the rows instead of moving past them
+    @Query(value = "SELECT * FROM notification_outbox WHERE next_attempt_at <= :now ORDER BY id "
+            + "FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxNotification> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxNotification n SET n.nextAttemptAt = :until WHERE n.id IN :ids")
+    int leaseUntil(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    Optional<OutboxNotification> findFirstByOrderByIdAsc();
+}
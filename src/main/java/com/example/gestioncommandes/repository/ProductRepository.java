@@ -1,8 +1,11 @@
 package com.example.gestioncommandes.repository;
 
 import com.example.gestioncommandes.model.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +14,9 @@ import java.util.List;
 @RepositoryRestResource(path = "products")
 public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategory(String category);
+
+    // Keyset batches for full scans: a Slice runs no count query and the id bound replaces the offset
+    @RestResource(exported = false)
+    Slice<Product> findByIdGreaterThan(Long id, Pageable pageable);
 }
 
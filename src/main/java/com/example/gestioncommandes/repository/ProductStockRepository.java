@@ -0,0 +1,76 @@
+package com.example.gestioncommandes.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Atomic stock adjustments on the products table. Every statement is a single conditional
+ * UPDATE, so concurrent writers never read-modify-write the same row from Java.
+ */
+@Repository
+public class ProductStockRepository {
+
+    private static final String DECREMENT_IF_AVAILABLE =
+            "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String INCREMENT =
+            "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Decrements every entry with one batched conditional update and returns the product ids
+     * whose row did not have enough stock (nothing was decremented for those).
+     */
+    public List<Long> decrementIfAvailable(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_IF_AVAILABLE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+                ps.setInt(3, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+
+        List<Long> insufficient = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                insufficient.add(entries.get(i).getKey());
+            }
+        }
+        return insufficient;
+    }
+
+    public void increment(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        jdbcTemplate.batchUpdate(INCREMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+}
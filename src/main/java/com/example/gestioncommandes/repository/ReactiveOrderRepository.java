@@ -0,0 +1,62 @@
+package com.example.gestioncommandes.repository;
+
+import com.example.gestioncommandes.dto.OrderLineView;
+import com.example.gestioncommandes.model.OrderStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads of order lines over R2DBC, against the tables mapped by the JPA entities.
+ * Rows are emitted one per order item, ordered so that each order's items are contiguous.
+ */
+@Repository
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveOrderRepository {
+
+    private static final String ORDER_LINE_SELECT = "SELECT o.id AS order_id, c.id AS client_id, c.name AS client_name, "
+            + "o.order_date, o.status, o.total_amount, o.source, "
+            + "i.id AS item_id, p.id AS product_id, p.name AS product_name, i.quantity, i.unit_price, i.subtotal "
+            + "FROM orders o JOIN clients c ON c.id = o.client_id "
+            + "LEFT JOIN order_items i ON i.order_id = o.id LEFT JOIN products p ON p.id = i.product_id ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<OrderLineView> findOrderLinesById(Long orderId) {
+        return databaseClient.sql(ORDER_LINE_SELECT + "WHERE o.id = :orderId ORDER BY i.id")
+                .bind("orderId", orderId)
+                .map(ReactiveOrderRepository::toLine)
+                .all();
+    }
+
+    public Flux<OrderLineView> findOrderLinesByClientId(Long clientId) {
+        return databaseClient.sql(ORDER_LINE_SELECT + "WHERE o.client_id = :clientId ORDER BY o.id, i.id")
+                .bind("clientId", clientId)
+                .map(ReactiveOrderRepository::toLine)
+                .all();
+    }
+
+    private static OrderLineView toLine(Readable row) {
+        return new OrderLineView(
+                row.get("order_id", Long.class),
+                row.get("client_id", Long.class),
+                row.get("client_name", String.class),
+                row.get("order_date", LocalDateTime.class),
+                OrderStatus.valueOf(row.get("status", String.class)),
+                row.get("total_amount", BigDecimal.class),
+                row.get("source", String.class),
+                row.get("item_id", Long.class),
+                row.get("product_id", Long.class),
+                row.get("product_name", String.class),
+                row.get("quantity", Integer.class),
+                row.get("unit_price", BigDecimal.class),
+                row.get("subtotal", BigDecimal.class));
+    }
+}
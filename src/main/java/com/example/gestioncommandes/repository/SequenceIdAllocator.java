@@ -0,0 +1,36 @@
+package com.example.gestioncommandes.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands out entity ids for rows inserted with plain JDBC, in the same blocks Hibernate uses
+ * (pooled-lo), so they never collide with ids allocated by the JPA entities.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    // Equal to the allocationSize of the entity sequence generators and the sequences' INCREMENT BY
+    private static final int ID_BLOCK_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Each sequence value starts a block of ID_BLOCK_SIZE ids, one query fetches all blocks
+    public long[] allocate(String sequence, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(
+                "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)", Long.class, blocks);
+        for (int i = 0; i < count; i++) {
+            ids[i] = blockStarts.get(i / ID_BLOCK_SIZE) + i % ID_BLOCK_SIZE;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.gestioncommandes.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+
+/**
+ * Evicts catalog cache entries once the change that invalidated them is committed, or right
+ * away when the change happened outside a transaction.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(CatalogService.PRODUCTS, event.productIds());
+        clear(CatalogService.ALL_PRODUCTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        evict(CatalogService.CLIENTS, event.clientIds());
+    }
+
+    private void evict(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
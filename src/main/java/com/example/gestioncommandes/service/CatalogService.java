@@ -0,0 +1,115 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.ClientRepository;
+import com.example.gestioncommandes.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Read-through cache in front of {@link ProductRepository} and {@link ClientRepository}.
+ * Entries are evicted by {@link CatalogCacheInvalidator} when a product or client changes.
+ */
+@Service
+public class CatalogService {
+
+    public static final String PRODUCTS = "products";
+    public static final String ALL_PRODUCTS = "allProducts";
+    public static final String CLIENTS = "clients";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Cacheable(cacheNames = PRODUCTS, unless = "#result == null")
+    public Product findProduct(Long id) {
+        return productRepository.findById(id).orElse(null);
+    }
+
+    @Cacheable(cacheNames = ALL_PRODUCTS, key = "'all'")
+    public List<Product> findAllProducts() {
+        return productRepository.findAll();
+    }
+
+    @Cacheable(cacheNames = CLIENTS, unless = "#result == null")
+    public Client findClient(Long id) {
+        return clientRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Returns the products found for {@code ids}, keyed by id. Cached entries are served from
+     * memory and all misses are loaded with a single {@code findAllById}.
+     */
+    public Map<Long, Product> findProducts(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(PRODUCTS);
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            Product cached = cache != null ? cache.get(id, Product.class) : null;
+            if (cached != null) {
+                products.put(id, cached);
+            } else if (id != null) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Product product : productRepository.findAllById(misses)) {
+                products.put(product.getId(), product);
+                if (cache != null) {
+                    cache.put(product.getId(), product);
+                }
+            }
+        }
+        return products;
+    }
+
+    public Map<Long, Client> findClients(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CLIENTS);
+        Map<Long, Client> clients = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            Client cached = cache != null ? cache.get(id, Client.class) : null;
+            if (cached != null) {
+                clients.put(id, cached);
+            } else if (id != null) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Client client : clientRepository.findAllById(misses)) {
+                clients.put(client.getId(), client);
+                if (cache != null) {
+                    cache.put(client.getId(), client);
+                }
+            }
+        }
+        return clients;
+    }
+
+    public Product saveProduct(Product product) {
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(saved.getId())));
+        return saved;
+    }
+
+    public Client saveClient(Client client) {
+        Client saved = clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(List.of(saved.getId())));
+        return saved;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.gestioncommandes.service;
+
+import java.util.Collection;
+
+public record ClientChangedEvent(Collection<Long> clientIds) {
+}
@@ -0,0 +1,223 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Remembers the response of order creations sent with an idempotency key, so a retried request
+ * gets the original order back instead of creating a second one. Recent keys are answered from
+ * a bounded in-memory cache, older ones from the {@code idempotency_keys} table; both forget a
+ * key after {@code orders.idempotency.ttl}, the cache at the {@code expires_at} stored with the row.
+ * A key reused with a different request is rejected.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Cache<String, StoredOrder> cache;
+    private final Counter memoryReplays;
+    private final Counter databaseReplays;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyKeyRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${orders.idempotency.cache-size:100000}") long cacheSize) {
+        this(repository, objectMapper, meterRegistry, ttl, cacheSize, Clock.systemDefaultZone(), Ticker.systemTicker());
+    }
+
+    // The clock dates the rows and the ticker ages the cache entries; both move together in tests
+    IdempotencyStore(IdempotencyKeyRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                     Duration ttl, long cacheSize, Clock clock, Ticker ticker) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new StoredOrderExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotencyKeys");
+        this.memoryReplays = replayCounter(meterRegistry, "memory");
+        this.databaseReplays = replayCounter(meterRegistry, "database");
+    }
+
+    /**
+     * Returns the response stored for {@code key}, or null when the key has not been used yet.
+     */
+    public OrderResponse find(String key, String requestHash) {
+        StoredOrder stored = cache.getIfPresent(key);
+        if (stored != null) {
+            OrderResponse response = checked(key, requestHash, stored);
+            memoryReplays.increment();
+            return response;
+        }
+        return repository.find(key, LocalDateTime.now(clock))
+                .map(row -> {
+                    StoredOrder order = new StoredOrder(row.requestHash(), fromJson(row.response()), row.expiresAt());
+                    cache.put(key, order);
+                    OrderResponse response = checked(key, requestHash, order);
+                    databaseReplays.increment();
+                    return response;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Reserves {@code key} for the current transaction and returns when it expires. Throws
+     * {@link org.springframework.dao.DuplicateKeyException} when another request already used it.
+     */
+    public LocalDateTime claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiresAt = now.plus(ttl);
+        repository.claim(key, requestHash, now, expiresAt);
+        return expiresAt;
+    }
+
+    /**
+     * Stores the response of the order created under {@code key}, claimed until {@code expiresAt};
+     * it is cached once the transaction commits.
+     */
+    public void complete(String key, String requestHash, OrderResponse response, LocalDateTime expiresAt) {
+        repository.complete(key, response.getId(), toJson(response));
+        StoredOrder stored = new StoredOrder(requestHash, response, expiresAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(key, stored);
+                }
+            });
+        } else {
+            cache.put(key, stored);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Returns the trimmed key, or null when the request did not carry one.
+     */
+    public static String normalizeKey(String key) {
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency key longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
+    /**
+     * Hash of the fields that define the order, used to detect a key reused for another request.
+     */
+    public static String requestHash(CreateOrderRequest request) {
+        StringBuilder canonical = new StringBuilder()
+                .append(request.getClientId()).append('|')
+                .append(request.getSource() != null ? request.getSource() : "e-commerce");
+        if (request.getItems() != null) {
+            for (OrderItemRequest item : request.getItems()) {
+                canonical.append('|').append(item.getProductId()).append('x').append(item.getQuantity());
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static OrderResponse checked(String key, String requestHash, StoredOrder stored) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new RuntimeException("Idempotency key already used for a different order: " + key);
+        }
+        return stored.response();
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order " + response.getId(), e);
+        }
+    }
+
+    private OrderResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored order response", e);
+        }
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String store) {
+        return Counter.builder("orders.idempotency.replays")
+                .description("Order creations answered from a stored response")
+                .tag("store", store)
+                .register(meterRegistry);
+    }
+
+    private record StoredOrder(String requestHash, OrderResponse response, LocalDateTime expiresAt) {
+    }
+
+    // Drops an entry when its row expires, however long after the claim it was cached
+    private static class StoredOrderExpiry implements Expiry<String, StoredOrder> {
+
+        private final Clock clock;
+
+        StoredOrderExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, StoredOrder stored, long currentTime) {
+            return Math.max(0, Duration.between(LocalDateTime.now(clock), stored.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredOrder stored, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, stored, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredOrder stored, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,760 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.dto.BulkOrderResult;
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.ImportReport;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.ImportType;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.CatalogImportRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File import pipeline for products, clients and orders, fed by uploads and by a watched inbox
+ * directory. Files are CSV with a header line or NDJSON (one JSON object per line), and are read
+ * as a stream, so their size is not limited by memory.
+ * <p>
+ * The reading thread cuts the file into chunks of {@code imports.chunk-size} lines which are
+ * parsed and validated in parallel on {@code imports.threads} threads. Valid records are then
+ * written in file order, one transaction per {@code imports.commit-interval} records: catalog
+ * rows with batched JDBC, orders through {@link OrderService#createOrders}, so they go through
+ * the same checks, stock reservation and notifications as the API. Rejected lines never stop
+ * the import; each one is listed in a per-file error report.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private static final Map<ImportType, List<String>> FIELDS = Map.of(
+            ImportType.PRODUCTS, List.of("id", "name", "description", "price", "stockQuantity", "category"),
+            ImportType.CLIENTS, List.of("id", "name", "email", "phone", "address"),
+            ImportType.ORDERS, List.of("clientId", "source", "items"));
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CatalogImportRepository catalogImportRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${imports.dir}")
+    private Path importDir;
+
+    @Value("${imports.watch.enabled:false}")
+    private boolean watchEnabled;
+
+    @Value("${imports.watch.interval-ms:5000}")
+    private long watchIntervalMs;
+
+    @Value("${imports.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${imports.commit-interval:10000}")
+    private int commitInterval;
+
+    @Value("${imports.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${imports.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Value("${imports.max-error-samples:20}")
+    private int maxErrorSamples;
+
+    private final Cache<String, ImportJob> jobs = Caffeine.newBuilder().maximumSize(1000).build();
+
+    private ExecutorService fileExecutor;
+    private ExecutorService validationExecutor;
+
+    @PostConstruct
+    void start() throws IOException {
+        for (String directory : List.of("inbox", "processing", "done", "failed", "reports")) {
+            Files.createDirectories(importDir.resolve(directory));
+        }
+        // Files are imported one at a time, each one already using every validation thread
+        fileExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("import-file-"));
+        validationExecutor = Executors.newFixedThreadPool(Math.max(1, threads), new CustomizableThreadFactory("import-validate-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        fileExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    /**
+     * Queues an uploaded file. The upload is moved into the processing directory, then removed
+     * once imported; the returned report can be polled with {@link #getReport}.
+     */
+    public ImportReport submit(ImportType type, MultipartFile file) throws IOException {
+        String fileName = Path.of(Objects.requireNonNullElse(file.getOriginalFilename(), "upload")).getFileName().toString();
+        Format.of(fileName);
+        String id = UUID.randomUUID().toString();
+        Path target = importDir.resolve("processing").resolve(id + "-" + fileName);
+        file.transferTo(target);
+        return enqueue(new ImportJob(id, type, fileName, target, false)).toReport();
+    }
+
+    public ImportReport getReport(String id) {
+        ImportJob job = jobs.getIfPresent(id);
+        return job != null ? job.toReport() : null;
+    }
+
+    public List<ImportReport> getReports() {
+        return jobs.asMap().values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.queuedAt).reversed())
+                .map(ImportJob::toReport)
+                .toList();
+    }
+
+    public Path getErrorReport(String id) {
+        ImportJob job = jobs.getIfPresent(id);
+        return job != null ? job.errorReport : null;
+    }
+
+    /**
+     * Picks up files dropped in {@code <imports.dir>/inbox}. Producers should write elsewhere and
+     * move the finished file in; files modified during the last interval are left for the next scan.
+     */
+    @Scheduled(fixedDelayString = "${imports.watch.interval-ms:5000}")
+    public void scanInbox() throws IOException {
+        if (!watchEnabled) {
+            return;
+        }
+        long settledBefore = System.currentTimeMillis() - watchIntervalMs;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(importDir.resolve("inbox"))) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (!Files.isRegularFile(file) || fileName.startsWith(".")
+                        || Files.getLastModifiedTime(file).toMillis() > settledBefore) {
+                    continue;
+                }
+                ImportType type = typeOf(fileName);
+                if (type == null) {
+                    log.warn("Ignoring {}: the name must start with one of {} and end with .csv or .ndjson",
+                            fileName, Arrays.toString(ImportType.values()).toLowerCase(Locale.ROOT));
+                    Files.move(file, importDir.resolve("failed").resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+                    continue;
+                }
+                String id = UUID.randomUUID().toString();
+                Path target = importDir.resolve("processing").resolve(id + "-" + fileName);
+                Files.move(file, target);
+                enqueue(new ImportJob(id, type, fileName, target, true));
+            }
+        }
+    }
+
+    private ImportJob enqueue(ImportJob job) {
+        jobs.put(job.id, job);
+        fileExecutor.execute(() -> run(job));
+        return job;
+    }
+
+    private void run(ImportJob job) {
+        job.status = RUNNING;
+        job.startedAt = LocalDateTime.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ImportRun importRun = new ImportRun(job);
+        try {
+            importRun.execute();
+            job.status = COMPLETED;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.failure = e.getMessage();
+            job.status = FAILED;
+            log.warn("Import of {} failed after {} records: {}", job.fileName, job.read.get(), e.getMessage());
+        } finally {
+            importRun.closeErrorReport();
+            job.finishedAt = LocalDateTime.now();
+            sample.stop(Timer.builder("imports.files")
+                    .description("Time spent importing one file")
+                    .tag("type", job.type.name().toLowerCase(Locale.ROOT))
+                    .tag("status", job.status.toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+            archive(job);
+        }
+        log.atInfo().setMessage("Import finished")
+                .addKeyValue("file", job.fileName)
+                .addKeyValue("type", job.type)
+                .addKeyValue("status", job.status)
+                .addKeyValue("read", job.read.get())
+                .addKeyValue("imported", job.imported.get())
+                .addKeyValue("rejected", job.rejected.get())
+                .log();
+    }
+
+    private void archive(ImportJob job) {
+        try {
+            if (!job.watched) {
+                Files.deleteIfExists(job.file);
+            } else {
+                Path directory = importDir.resolve(COMPLETED.equals(job.status) ? "done" : "failed");
+                Files.move(job.file, directory.resolve(job.id + "-" + job.fileName), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not archive {}: {}", job.file, e.getMessage());
+        }
+    }
+
+    private static ImportType typeOf(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (Format.ofNullable(lower) == null) {
+            return null;
+        }
+        for (ImportType type : ImportType.values()) {
+            if (lower.startsWith(type.name().toLowerCase(Locale.ROOT))) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One import: reads the file, keeps at most two chunks per validation thread in flight and
+     * hands validated chunks to the writer in file order.
+     */
+    private final class ImportRun {
+
+        private final ImportJob job;
+        private final List<Parsed> pending = new ArrayList<>();
+        private final Counter importedCounter;
+        private final Counter rejectedCounter;
+        private BufferedWriter errorWriter;
+
+        private ImportRun(ImportJob job) {
+            this.job = job;
+            String type = job.type.name().toLowerCase(Locale.ROOT);
+            this.importedCounter = recordCounter(type, "imported");
+            this.rejectedCounter = recordCounter(type, "rejected");
+        }
+
+        void execute() throws IOException, InterruptedException, ExecutionException {
+            Format format = Format.of(job.fileName);
+            Deque<Future<List<Parsed>>> inFlight = new ArrayDeque<>();
+            int maxInFlight = Math.max(1, threads) * 2;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new CountingInputStream(Files.newInputStream(job.file), job.bytesRead), StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+                List<String> header = format == Format.CSV ? readHeader(reader) : null;
+                long lineNumber = header != null ? 1 : 0;
+                List<Line> chunk = new ArrayList<>(chunkSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    chunk.add(new Line(lineNumber, line));
+                    if (chunk.size() >= chunkSize) {
+                        inFlight.add(submitChunk(chunk, header));
+                        chunk = new ArrayList<>(chunkSize);
+                        if (inFlight.size() >= maxInFlight) {
+                            accept(inFlight.poll().get());
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    inFlight.add(submitChunk(chunk, header));
+                }
+                while (!inFlight.isEmpty()) {
+                    accept(inFlight.poll().get());
+                }
+                flush();
+            } finally {
+                inFlight.forEach(future -> future.cancel(true));
+            }
+        }
+
+        private List<String> readHeader(BufferedReader reader) throws IOException {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IOException("Empty file, expected a CSV header line");
+            }
+            List<String> fields = FIELDS.get(job.type);
+            List<String> header = new ArrayList<>();
+            for (String column : splitCsv(headerLine.replace("\uFEFF", ""))) {
+                String normalized = normalizeColumn(column);
+                header.add(fields.stream().filter(field -> normalizeColumn(field).equals(normalized)).findFirst().orElse(null));
+            }
+            if (header.stream().noneMatch(Objects::nonNull)) {
+                throw new IOException("No known column in CSV header, expected some of " + fields);
+            }
+            return header;
+        }
+
+        private Future<List<Parsed>> submitChunk(List<Line> chunk, List<String> header) {
+            return validationExecutor.submit(() -> {
+                List<Parsed> parsed = new ArrayList<>(chunk.size());
+                for (Line line : chunk) {
+                    try {
+                        Map<String, Object> fields = header != null ? csvFields(header, line.text) : jsonFields(line.text);
+                        parsed.add(new Parsed(line.number, parse(job.type, fields), null));
+                    } catch (RuntimeException e) {
+                        parsed.add(new Parsed(line.number, null, e.getMessage()));
+                    }
+                }
+                return parsed;
+            });
+        }
+
+        private void accept(List<Parsed> chunk) throws IOException {
+            for (Parsed record : chunk) {
+                job.read.incrementAndGet();
+                if (record.error != null) {
+                    reject(record.line, record.error);
+                } else {
+                    pending.add(record);
+                    if (pending.size() >= commitInterval) {
+                        flush();
+                    }
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Parsed> records = new ArrayList<>(pending);
+            pending.clear();
+            if (job.type == ImportType.ORDERS) {
+                writeOrders(records);
+            } else {
+                writeCatalog(records);
+            }
+        }
+
+        private void writeOrders(List<Parsed> records) throws IOException {
+            List<CreateOrderRequest> requests = records.stream().map(record -> (CreateOrderRequest) record.value).toList();
+            for (BulkOrderResult result : orderService.createOrders(requests)) {
+                if (result.isSuccess()) {
+                    imported(1);
+                } else {
+                    reject(records.get(result.getIndex()).line, result.getError());
+                }
+            }
+        }
+
+        /**
+         * Writes the records in one transaction. When the batch fails as a whole (a duplicate email,
+         * a value too long for its column) each record is retried on its own to find the bad ones.
+         */
+        private void writeCatalog(List<Parsed> records) throws IOException {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            List<Object> unsaved = records.stream().map(Parsed::value).filter(value -> idOf(value) == null).toList();
+            Map<Long, String> missing;
+            try {
+                missing = transaction.execute(status -> writeCatalogBatch(records));
+            } catch (DataAccessException e) {
+                // The ids given to new rows were rolled back with them: the retry must insert them again
+                unsaved.forEach(value -> setId(value, null));
+                if (records.size() == 1) {
+                    reject(records.get(0).line, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    return;
+                }
+                for (Parsed record : records) {
+                    writeCatalog(List.of(record));
+                }
+                return;
+            }
+            int rejected = 0;
+            for (Parsed record : records) {
+                String error = missing.get(record.line);
+                if (error != null) {
+                    reject(record.line, error);
+                    rejected++;
+                }
+            }
+            imported(records.size() - rejected);
+        }
+
+        // Returns the error of every record that was not written, keyed by line number
+        private Map<Long, String> writeCatalogBatch(List<Parsed> records) {
+            Map<Long, String> missing = new HashMap<>();
+            if (job.type == ImportType.PRODUCTS) {
+                List<Product> updates = new ArrayList<>();
+                List<Product> inserts = new ArrayList<>();
+                Map<Long, Long> lineById = new HashMap<>();
+                for (Parsed record : records) {
+                    Product product = (Product) record.value;
+                    if (product.getId() != null) {
+                        updates.add(product);
+                        lineById.put(product.getId(), record.line);
+                    } else {
+                        inserts.add(product);
+                    }
+                }
+                for (Long id : catalogImportRepository.updateProducts(updates, batchSize)) {
+                    missing.put(lineById.get(id), "Product not found with id: " + id);
+                }
+                catalogImportRepository.insertProducts(inserts, batchSize);
+                Set<Long> changed = new HashSet<>();
+                updates.forEach(product -> changed.add(product.getId()));
+                inserts.forEach(product -> changed.add(product.getId()));
+                eventPublisher.publishEvent(new ProductChangedEvent(changed));
+            } else {
+                // Clients are matched on email when the line has no id, so re-importing a file updates them;
+                // a second line with the same email in the batch is rejected rather than silently replacing the first
+                Map<String, Client> byEmail = new LinkedHashMap<>();
+                Map<String, Long> lineByEmail = new HashMap<>();
+                List<Client> updates = new ArrayList<>();
+                Map<Long, Long> lineById = new HashMap<>();
+                for (Parsed record : records) {
+                    Client client = (Client) record.value;
+                    if (client.getId() != null) {
+                        updates.add(client);
+                        lineById.put(client.getId(), record.line);
+                    } else if (byEmail.putIfAbsent(client.getEmail(), client) == null) {
+                        lineByEmail.put(client.getEmail(), record.line);
+                    } else {
+                        missing.put(record.line, "Duplicate email " + client.getEmail()
+                                + ", already on line " + lineByEmail.get(client.getEmail()));
+                    }
+                }
+                Map<String, Long> existing = catalogImportRepository.findClientIdsByEmail(byEmail.keySet());
+                List<Client> inserts = new ArrayList<>();
+                for (Client client : byEmail.values()) {
+                    Long id = existing.get(client.getEmail());
+                    if (id != null) {
+                        client.setId(id);
+                        updates.add(client);
+                    } else {
+                        inserts.add(client);
+                    }
+                }
+                for (Long id : catalogImportRepository.updateClients(updates, batchSize)) {
+                    if (lineById.containsKey(id)) {
+                        missing.put(lineById.get(id), "Client not found with id: " + id);
+                    }
+                }
+                catalogImportRepository.insertClients(inserts, batchSize);
+                Set<Long> changed = new HashSet<>();
+                updates.forEach(client -> changed.add(client.getId()));
+                inserts.forEach(client -> changed.add(client.getId()));
+                eventPublisher.publishEvent(new ClientChangedEvent(changed));
+            }
+            return missing;
+        }
+
+        private static Long idOf(Object value) {
+            return value instanceof Product product ? product.getId() : ((Client) value).getId();
+        }
+
+        private static void setId(Object value, Long id) {
+            if (value instanceof Product product) {
+                product.setId(id);
+            } else {
+                ((Client) value).setId(id);
+            }
+        }
+
+        private void imported(int count) {
+            job.imported.addAndGet(count);
+            importedCounter.increment(count);
+        }
+
+        private void reject(long line, String error) throws IOException {
+            job.rejected.incrementAndGet();
+            rejectedCounter.increment();
+            if (job.sampleErrors.size() < maxErrorSamples) {
+                job.sampleErrors.add("line " + line + ": " + error);
+            }
+            if (errorWriter == null) {
+                job.errorReport = importDir.resolve("reports").resolve(job.id + "-" + job.fileName + ".errors.csv");
+                errorWriter = Files.newBufferedWriter(job.errorReport, StandardCharsets.UTF_8);
+                errorWriter.write("line,error\n");
+            }
+            errorWriter.write(line + ",\"" + String.valueOf(error).replace("\"", "\"\"") + "\"\n");
+        }
+
+        void closeErrorReport() {
+            if (errorWriter != null) {
+                try {
+                    errorWriter.close();
+                } catch (IOException e) {
+                    log.warn("Could not write error report {}: {}", job.errorReport, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Counter recordCounter(String type, String outcome) {
+        return Counter.builder("imports.records")
+                .description("Records read from import files")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Converts one line to the record it describes and applies the catalog rules. Order lines are
+     * only converted: {@link OrderService#createOrders} checks them when they are written.
+     */
+    private Object parse(ImportType type, Map<String, Object> fields) {
+        try {
+            switch (type) {
+                case PRODUCTS -> {
+                    Product product = objectMapper.convertValue(fields, Product.class);
+                    require(product.getName() != null && !product.getName().isBlank(), "Product name is required");
+                    require(product.getPrice() != null && product.getPrice().signum() >= 0,
+                            "Invalid price for product: " + product.getName());
+                    require(product.getStockQuantity() != null && product.getStockQuantity() >= 0,
+                            "Invalid stock quantity for product: " + product.getName());
+                    return product;
+                }
+                case CLIENTS -> {
+                    Client client = objectMapper.convertValue(fields, Client.class);
+                    require(client.getName() != null && !client.getName().isBlank(), "Client name is required");
+                    require(client.getEmail() != null && client.getEmail().contains("@"),
+                            "Invalid email for client: " + client.getName());
+                    return client;
+                }
+                default -> {
+                    return objectMapper.convertValue(fields, CreateOrderRequest.class);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+                throw new RuntimeException("Invalid value for " + mapping.getPath().get(mapping.getPath().size() - 1).getFieldName());
+            }
+            throw e;
+        }
+    }
+
+    private static void require(boolean condition, String error) {
+        if (!condition) {
+            throw new RuntimeException(error);
+        }
+    }
+
+    private Map<String, Object> jsonFields(String line) {
+        try {
+            return objectMapper.readValue(line, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Object> csvFields(List<String> header, String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() > header.size()) {
+            throw new RuntimeException("Expected " + header.size() + " columns, got " + values.size());
+        }
+        Map<String, Object> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (header.get(i) != null && !value.isEmpty()) {
+                fields.put(header.get(i), value);
+            }
+        }
+        // Order lines carry their items in one column: productId:quantity;productId:quantity
+        if (fields.get("items") instanceof String items) {
+            List<Map<String, String>> parsed = new ArrayList<>();
+            for (String item : items.split(";")) {
+                String[] parts = item.split(":");
+                if (parts.length != 2) {
+                    throw new RuntimeException("Invalid item, expected productId:quantity: " + item);
+                }
+                parsed.add(Map.of("productId", parts[0].trim(), "quantity", parts[1].trim()));
+            }
+            fields.put("items", parsed);
+        }
+        return fields;
+    }
+
+    // RFC 4180 fields on one line: quoted fields may contain commas and doubled quotes
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String normalizeColumn(String column) {
+        return column.trim().replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private enum Format {
+        CSV, NDJSON;
+
+        static Format of(String fileName) {
+            Format format = ofNullable(fileName.toLowerCase(Locale.ROOT));
+            if (format == null) {
+                throw new IllegalArgumentException("Unsupported file " + fileName + ", expected .csv, .ndjson or .jsonl");
+            }
+            return format;
+        }
+
+        static Format ofNullable(String lowerCaseName) {
+            if (lowerCaseName.endsWith(".csv")) {
+                return CSV;
+            }
+            if (lowerCaseName.endsWith(".ndjson") || lowerCaseName.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            return null;
+        }
+    }
+
+    private record Line(long number, String text) {
+    }
+
+    private record Parsed(long line, Object value, String error) {
+    }
+
+    // Counts the encoded bytes the reader consumes, so progress compares like with like against the file size
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        private CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+
+    private static final class ImportJob {
+
+        private final String id;
+        private final ImportType type;
+        private final String fileName;
+        private final Path file;
+        private final boolean watched;
+        private final long size;
+        private final LocalDateTime queuedAt = LocalDateTime.now();
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final List<String> sampleErrors = new CopyOnWriteArrayList<>();
+        private volatile String status = QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Path errorReport;
+        private volatile String failure;
+
+        private ImportJob(String id, ImportType type, String fileName, Path file, boolean watched) throws IOException {
+            this.id = id;
+            this.type = type;
+            this.fileName = fileName;
+            this.file = file;
+            this.watched = watched;
+            this.size = Files.size(file);
+        }
+
+        // Bytes handed to the decoder, ahead of the parsed lines by at most the read buffers
+        private ImportReport toReport() {
+            int progress = COMPLETED.equals(status) ? 100
+                    : size == 0 ? 0 : (int) Math.min(99, bytesRead.get() * 100 / size);
+            return new ImportReport(id, type, fileName, status, read.get(), imported.get(), rejected.get(), progress,
+                    startedAt, finishedAt, errorReport != null ? errorReport.toString() : null,
+                    List.copyOf(sampleErrors), failure);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.gestioncommandes.service;
+
+/**
+ * Thrown when a requested order, client or product does not exist.
+ */
+public class NotFoundException extends RuntimeException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.model.NotificationType;
+import com.example.gestioncommandes.model.Order;
+import com.example.gestioncommandes.model.OutboxNotification;
+import com.example.gestioncommandes.repository.OutboxNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records order notifications in the outbox table. Callers are expected to run inside the
+ * transaction that writes the order, so the notification is committed (or rolled back) with it;
+ * delivery happens later in {@link com.example.gestioncommandes.grpc.NotificationOutboxDispatcher}.
+ */
+@Component
+public class NotificationOutbox {
+
+    @Autowired
+    private OutboxNotificationRepository outboxRepository;
+
+    public void enqueueOrderCreated(Order order) {
+        outboxRepository.save(toOutbox(order, NotificationType.ORDER_CREATED));
+    }
+
+    private OutboxNotification toOutbox(Order order, NotificationType type) {
+        OutboxNotification notification = new OutboxNotification();
+        notification.setType(type);
+        notification.setOrderId(order.getId());
+        notification.setClientId(order.getClient().getId());
+        notification.setClientName(order.getClient().getName());
+        notification.setStatus(order.getStatus().toString());
+        notification.setTotalAmount(order.getTotalAmount());
+        return notification;
+    }
+}
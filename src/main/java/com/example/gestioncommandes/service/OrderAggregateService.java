@@ -0,0 +1,166 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.dto.OrderAggregateSummary;
+import com.example.gestioncommandes.model.*;
+import com.example.gestioncommandes.repository.OrderAggregateBatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the order aggregates (count and amount per client, source and overall, by status,
+ * per day and all time), so summary reads are single-key lookups instead of scans of the orders
+ * table. Order transactions only insert deltas, since updating the shared rows in place would
+ * serialize every checkout on the ALL row of its status; {@link #foldDeltas()} merges them into
+ * the aggregates in the background and reads add the ones still pending.
+ */
+@Service
+public class OrderAggregateService {
+
+    private static final Comparator<OrderAggregateKey> KEY_ORDER = Comparator
+            .comparing(OrderAggregateKey::getDimension)
+            .thenComparing(OrderAggregateKey::getDimKey)
+            .thenComparing(OrderAggregateKey::getStatus)
+            .thenComparing(OrderAggregateKey::getPeriod);
+
+    @Autowired
+    private OrderAggregateBatchRepository orderAggregateBatchRepository;
+
+    @Value("${orders.aggregates.fold-batch-size:5000}")
+    private int foldBatchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public OrderAggregateService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordCreated(Collection<Order> orders) {
+        Map<OrderAggregateKey, OrderAggregate> deltas = new TreeMap<>(KEY_ORDER);
+        for (Order order : orders) {
+            addDelta(deltas, order, order.getStatus(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Moves each order from its previous status (by order id) to its current one, with a single
+     * batch of deltas for all of them.
+     */
+    public void recordStatusChanges(Collection<Order> orders, Map<Long, OrderStatus> previousStatuses) {
+        Map<OrderAggregateKey, OrderAggregate> deltas = new TreeMap<>(KEY_ORDER);
+        for (Order order : orders) {
+            OrderStatus previousStatus = previousStatuses.get(order.getId());
+            if (previousStatus != order.getStatus()) {
+                addDelta(deltas, order, previousStatus, -1);
+                addDelta(deltas, order, order.getStatus(), 1);
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Folds the pending deltas into the aggregate rows, one locked batch per transaction, with
+     * a single MERGE per key however many orders the batch covers.
+     */
+    @Scheduled(fixedDelayString = "${orders.aggregates.fold-interval-ms:1000}")
+    public void foldDeltas() {
+        int folded;
+        do {
+            folded = transactionTemplate.execute(status -> {
+                List<OrderAggregate> claimed = orderAggregateBatchRepository.claimDeltas(foldBatchSize);
+                Map<OrderAggregateKey, OrderAggregate> deltas = new TreeMap<>(KEY_ORDER);
+                for (OrderAggregate delta : claimed) {
+                    OrderAggregate sum = deltas.computeIfAbsent(delta.getKey(),
+                            k -> new OrderAggregate(k, 0L, BigDecimal.ZERO));
+                    sum.setOrderCount(sum.getOrderCount() + delta.getOrderCount());
+                    sum.setTotalAmount(sum.getTotalAmount().add(delta.getTotalAmount()));
+                }
+                if (!deltas.isEmpty()) {
+                    orderAggregateBatchRepository.applyDeltas(new ArrayList<>(deltas.values()));
+                }
+                return claimed.size();
+            });
+        } while (folded == foldBatchSize);
+    }
+
+    /**
+     * Count and amount for one key, e.g. ({@code SOURCE}, {@code "mobile"}). A null status sums
+     * over every status and a null day means all time.
+     */
+    public OrderAggregateSummary getSummary(AggregateDimension dimension, String key, OrderStatus status, LocalDate day) {
+        String dimKey = dimension == AggregateDimension.ALL || key == null ? OrderAggregateKey.ALL : key;
+        String period = period(day);
+        List<OrderAggregate> rows = orderAggregateBatchRepository.findTotals(dimension, dimKey, period);
+        OrderAggregateSummary summary = new OrderAggregateSummary(dimension, dimKey, status, period, 0, BigDecimal.ZERO);
+        rows.stream()
+                .filter(row -> status == null || row.getKey().getStatus() == status)
+                .forEach(row -> add(summary, row));
+        return summary;
+    }
+
+    /**
+     * One summary per key of the dimension, e.g. revenue by source or open orders per client.
+     */
+    public List<OrderAggregateSummary> getSummaries(AggregateDimension dimension, OrderStatus status, LocalDate day) {
+        String period = period(day);
+        Map<String, OrderAggregateSummary> summaries = new TreeMap<>();
+        for (OrderAggregate row : orderAggregateBatchRepository.findTotals(dimension, period)) {
+            if (status != null && row.getKey().getStatus() != status) {
+                continue;
+            }
+            add(summaries.computeIfAbsent(row.getKey().getDimKey(),
+                    dimKey -> new OrderAggregateSummary(dimension, dimKey, status, period, 0, BigDecimal.ZERO)), row);
+        }
+        return summaries.values().stream()
+                .filter(summary -> summary.getOrderCount() > 0)
+                .collect(Collectors.toList());
+    }
+
+    private void addDelta(Map<OrderAggregateKey, OrderAggregate> deltas, Order order, OrderStatus status, int sign) {
+        BigDecimal amount = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+        if (sign < 0) {
+            amount = amount.negate();
+        }
+        String day = order.getOrderDate().toLocalDate().toString();
+        Map<AggregateDimension, String> dimKeys = new EnumMap<>(AggregateDimension.class);
+        dimKeys.put(AggregateDimension.ALL, OrderAggregateKey.ALL);
+        dimKeys.put(AggregateDimension.CLIENT, order.getClient().getId().toString());
+        // Orders without a source are left out of the SOURCE dimension, as rebuild() does
+        if (order.getSource() != null) {
+            dimKeys.put(AggregateDimension.SOURCE, order.getSource());
+        }
+        for (Map.Entry<AggregateDimension, String> dimKey : dimKeys.entrySet()) {
+            for (String period : List.of(OrderAggregateKey.ALL, day)) {
+                OrderAggregateKey key = new OrderAggregateKey(dimKey.getKey(), dimKey.getValue(), status, period);
+                OrderAggregate delta = deltas.computeIfAbsent(key, k -> new OrderAggregate(k, 0L, BigDecimal.ZERO));
+                delta.setOrderCount(delta.getOrderCount() + sign);
+                delta.setTotalAmount(delta.getTotalAmount().add(amount));
+            }
+        }
+    }
+
+    private void apply(Map<OrderAggregateKey, OrderAggregate> deltas) {
+        if (!deltas.isEmpty()) {
+            orderAggregateBatchRepository.insertDeltas(new ArrayList<>(deltas.values()));
+        }
+    }
+
+    private static void add(OrderAggregateSummary summary, OrderAggregate row) {
+        summary.setOrderCount(summary.getOrderCount() + row.getOrderCount());
+        summary.setTotalAmount(summary.getTotalAmount().add(row.getTotalAmount()));
+    }
+
+    private static String period(LocalDate day) {
+        return day != null ? day.toString() : OrderAggregateKey.ALL;
+    }
+}
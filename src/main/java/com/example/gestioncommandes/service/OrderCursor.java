@@ -0,0 +1,33 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.dto.OrderResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the (orderDate DESC, id DESC) order listing.
+ */
+public record OrderCursor(LocalDateTime orderDate, Long id) {
+
+    public static OrderCursor of(OrderResponse order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid order cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((orderDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
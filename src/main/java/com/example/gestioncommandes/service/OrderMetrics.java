@@ -0,0 +1,48 @@
+package com.example.gestioncommandes.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Stage timers for {@link OrderService}, published as {@code orders.service.stage} tagged with
+ * the service method and the stage. The whole method is timed separately by {@code @Timed}
+ * as {@code orders.service}.
+ */
+@Component
+public class OrderMetrics {
+
+    public static final String CLIENT_LOOKUP = "client-lookup";
+    public static final String PRODUCT_LOOKUP = "product-lookup";
+    public static final String STOCK_CHECK = "stock-check";
+    public static final String ORDER_LOOKUP = "order-lookup";
+    public static final String PERSIST = "persist";
+    public static final String NOTIFICATION = "notification";
+    public static final String CONVERSION = "conversion";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public <T> T stage(String method, String stage, Supplier<T> work) {
+        return timer(method, stage).record(work);
+    }
+
+    public void stage(String method, String stage, Runnable work) {
+        timer(method, stage).record(work);
+    }
+
+    private Timer timer(String method, String stage) {
+        return timers.computeIfAbsent(method + '/' + stage, key -> Timer.builder("orders.service.stage")
+                .description("Time spent in one stage of an OrderService method")
+                .tag("method", method)
+                .tag("stage", stage)
+                .register(meterRegistry));
+    }
+}
@@ -1,22 +1,50 @@
 package com.example.gestioncommandes.service;
 
+import com.example.gestioncommandes.dto.BulkOrderResult;
 import com.example.gestioncommandes.dto.CreateOrderRequest;
 import com.example.gestioncommandes.dto.OrderItemResponse;
+import com.example.gestioncommandes.dto.OrderLineView;
+import com.example.gestioncommandes.dto.OrderPage;
+import com.example.gestioncommandes.dto.OrderSummaryView;
 import com.example.gestioncommandes.dto.OrderResponse;
-import com.example.gestioncommandes.grpc.NotificationGrpcClient;
+import com.example.gestioncommandes.dto.StatusChangeResult;
 import com.example.gestioncommandes.model.*;
 import com.example.gestioncommandes.repository.ClientRepository;
+import com.example.gestioncommandes.repository.OrderBatchRepository;
+import com.example.gestioncommandes.repository.OrderItemRepository;
 import com.example.gestioncommandes.repository.OrderRepository;
 import com.example.gestioncommandes.repository.ProductRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.gestioncommandes.service.OrderMetrics.CLIENT_LOOKUP;
+import static com.example.gestioncommandes.service.OrderMetrics.CONVERSION;
+import static com.example.gestioncommandes.service.OrderMetrics.NOTIFICATION;
+import static com.example.gestioncommandes.service.OrderMetrics.ORDER_LOOKUP;
+import static com.example.gestioncommandes.service.OrderMetrics.PERSIST;
+import static com.example.gestioncommandes.service.OrderMetrics.PRODUCT_LOOKUP;
+import static com.example.gestioncommandes.service.OrderMetrics.STOCK_CHECK;
 
 @Service
+@Timed(value = "orders.service", description = "OrderService method latency")
 public class OrderService {
 
     @Autowired
@@ -29,13 +57,87 @@ public class OrderService {
     private ProductRepository productRepository;
 
     @Autowired
-    private NotificationGrpcClient notificationClient;
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private OrderBatchRepository orderBatchRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    @Transactional
+    @Value("${orders.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${orders.bulk.max-attempts:3}")
+    private int bulkMaxAttempts;
+
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Creates one order. When the request carries an idempotency key already used by a completed
+     * request, the stored response is returned and nothing is written.
+     */
     public OrderResponse createOrder(CreateOrderRequest request) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        String key = IdempotencyStore.normalizeKey(request.getIdempotencyKey());
+        if (key == null) {
+            return transaction.execute(status -> placeOrder(request));
+        }
+
+        String requestHash = IdempotencyStore.requestHash(request);
+        OrderResponse stored = idempotencyStore.find(key, requestHash);
+        if (stored != null) {
+            return stored;
+        }
+        try {
+            return transaction.execute(status -> {
+                // Claimed first, so a concurrent retry waits here before touching any stock
+                LocalDateTime expiresAt = idempotencyStore.claim(key, requestHash);
+                OrderResponse response = placeOrder(request);
+                idempotencyStore.complete(key, requestHash, response, expiresAt);
+                return response;
+            });
+        } catch (DuplicateKeyException e) {
+            // A concurrent request with the same key committed first
+            stored = idempotencyStore.find(key, requestHash);
+            if (stored == null) {
+                throw new RuntimeException("Idempotency key is being used by another request: " + key);
+            }
+            return stored;
+        } catch (PessimisticLockingFailureException e) {
+            throw new RuntimeException("Idempotency key is being used by another request: " + key);
+        }
+    }
+
+    private OrderResponse placeOrder(CreateOrderRequest request) {
         // Validate client exists
-        Client client = clientRepository.findById(request.getClientId())
-                .orElseThrow(() -> new RuntimeException("Client not found with id: " + request.getClientId()));
+        Client client = orderMetrics.stage("createOrder", CLIENT_LOOKUP,
+                () -> catalogService.findClient(request.getClientId()));
+        if (client == null) {
+            throw new NotFoundException("Client not found with id: " + request.getClientId());
+        }
 
         // Create order
         Order order = new Order();
@@ -44,14 +146,19 @@ public class OrderService {
         order.setSource(request.getSource() != null ? request.getSource() : "e-commerce");
 
         // Add items
+        Map<Long, Product> products = orderMetrics.stage("createOrder", PRODUCT_LOOKUP,
+                () -> catalogService.findProducts(request.getItems().stream()
+                        .map(item -> item.getProductId())
+                        .collect(Collectors.toSet())));
+        Map<Long, Integer> quantities = new HashMap<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
         for (var itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new RuntimeException("Product not found with id: " + itemRequest.getProductId()));
-
-            // Check stock
-            if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName());
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new NotFoundException("Product not found with id: " + itemRequest.getProductId());
+            }
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new RuntimeException("Invalid quantity for product: " + product.getName());
             }
 
             OrderItem orderItem = new OrderItem();
@@ -60,73 +167,466 @@ public class OrderService {
             orderItem.setUnitPrice(product.getPrice());
 
             order.addItem(orderItem);
-
-            // Update stock
-            product.setStockQuantity(product.getStockQuantity() - itemRequest.getQuantity());
-            productRepository.save(product);
+            quantities.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
 
             totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
         }
 
+        // Reserve stock atomically, the conditional update is the stock check
+        List<Long> insufficient = orderMetrics.stage("createOrder", STOCK_CHECK,
+                () -> stockReservationService.tryReserve(quantities));
+        if (!insufficient.isEmpty()) {
+            throw new RuntimeException("Insufficient stock for product: " + products.get(insufficient.get(0)).getName());
+        }
+
         order.setTotalAmount(totalAmount);
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = orderMetrics.stage("createOrder", PERSIST, () -> {
+            // Flushed here so the inserts are timed with this stage instead of at commit
+            Order saved = orderRepository.saveAndFlush(order);
+            orderAggregateService.recordCreated(List.of(saved));
+            return saved;
+        });
+
+        // Queue gRPC notification, delivered after commit by the outbox dispatcher
+        orderMetrics.stage("createOrder", NOTIFICATION, () -> notificationOutbox.enqueueOrderCreated(savedOrder));
+
+        return orderMetrics.stage("createOrder", CONVERSION, () -> convertToResponse(savedOrder));
+    }
+
+    /**
+     * Creates many orders with set-based writes. Requests are processed in chunks, each chunk in its
+     * own transaction: catalog rows are loaded once per chunk, stock is reserved with one batched
+     * conditional update and orders/items are inserted with JDBC batches. Invalid requests are
+     * reported in the result list without affecting the rest of the batch.
+     */
+    public List<BulkOrderResult> createOrders(List<CreateOrderRequest> requests) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<BulkOrderResult> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += bulkChunkSize) {
+            List<CreateOrderRequest> chunk = requests.subList(start, Math.min(start + bulkChunkSize, requests.size()));
+            results.addAll(createOrderChunk(transaction, chunk, start));
+        }
+        return results;
+    }
+
+    private List<BulkOrderResult> createOrderChunk(TransactionTemplate transaction, List<CreateOrderRequest> chunk, int offset) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> writeOrderChunk(chunk, offset));
+            } catch (StockChangedException e) {
+                // Another writer took the stock between our read and the conditional update, re-read and retry
+                if (attempt >= bulkMaxAttempts) {
+                    List<BulkOrderResult> results = new ArrayList<>(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        results.add(BulkOrderResult.failed(offset + i, e.getMessage()));
+                    }
+                    return results;
+                }
+            } finally {
+                // Stock was changed with plain JDBC, drop the managed Product copies before the next read
+                entityManager.clear();
+            }
+        }
+    }
+
+    private List<BulkOrderResult> writeOrderChunk(List<CreateOrderRequest> chunk, int offset) {
+        Set<Long> clientIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (CreateOrderRequest request : chunk) {
+            if (request.getClientId() != null) {
+                clientIds.add(request.getClientId());
+            }
+            if (request.getItems() != null) {
+                request.getItems().stream()
+                        .map(item -> item.getProductId())
+                        .filter(Objects::nonNull)
+                        .forEach(productIds::add);
+            }
+        }
+        Map<Long, Client> clients = orderMetrics.stage("createOrders", CLIENT_LOOKUP,
+                () -> clientRepository.findAllById(clientIds).stream()
+                        .collect(Collectors.toMap(Client::getId, Function.identity())));
+        Map<Long, Product> products = orderMetrics.stage("createOrders", PRODUCT_LOOKUP,
+                () -> productRepository.findAllById(productIds).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity())));
+
+        Map<Long, Integer> remainingStock = new HashMap<>();
+        products.values().forEach(product -> remainingStock.put(product.getId(), product.getStockQuantity()));
+        Map<Long, Integer> reserved = new HashMap<>();
+
+        BulkOrderResult[] results = new BulkOrderResult[chunk.size()];
+        List<Order> orders = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                Order order = buildBulkOrder(chunk.get(i), clients, products, remainingStock);
+                for (OrderItem item : order.getItems()) {
+                    remainingStock.merge(item.getProduct().getId(), -item.getQuantity(), Integer::sum);
+                    reserved.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+                }
+                orders.add(order);
+                positions.add(i);
+            } catch (RuntimeException e) {
+                results[i] = BulkOrderResult.failed(offset + i, e.getMessage());
+            }
+        }
+
+        if (!reserved.isEmpty()) {
+            List<Long> insufficient = orderMetrics.stage("createOrders", STOCK_CHECK,
+                    () -> stockReservationService.tryReserve(reserved));
+            if (!insufficient.isEmpty()) {
+                throw new StockChangedException("Stock changed concurrently for products: " + insufficient);
+            }
+        }
+        if (!orders.isEmpty()) {
+            orderMetrics.stage("createOrders", PERSIST, () -> {
+                orderBatchRepository.insertOrders(orders);
+                orderAggregateService.recordCreated(orders);
+            });
+            orderMetrics.stage("createOrders", NOTIFICATION,
+                    () -> orderBatchRepository.insertOutboxNotifications(orders, NotificationType.ORDER_CREATED));
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            int position = positions.get(i);
+            results[position] = BulkOrderResult.created(offset + position, order.getId(), order.getTotalAmount());
+        }
+        return Arrays.asList(results);
+    }
+
+    private Order buildBulkOrder(CreateOrderRequest request, Map<Long, Client> clients,
+                                 Map<Long, Product> products, Map<Long, Integer> remainingStock) {
+        // Bulk creations are not replayable, a key here would be silently ignored
+        if (IdempotencyStore.normalizeKey(request.getIdempotencyKey()) != null) {
+            throw new RuntimeException("Idempotency keys are only supported when creating a single order");
+        }
+        Client client = clients.get(request.getClientId());
+        if (client == null) {
+            throw new NotFoundException("Client not found with id: " + request.getClientId());
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new RuntimeException("Order must contain at least one item");
+        }
+
+        Order order = new Order();
+        order.setClient(client);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+        order.setSource(request.getSource() != null ? request.getSource() : "e-commerce");
+
+        Map<Long, Integer> demand = new HashMap<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (var itemRequest : request.getItems()) {
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new NotFoundException("Product not found with id: " + itemRequest.getProductId());
+            }
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new RuntimeException("Invalid quantity for product: " + product.getName());
+            }
+
+            // Check stock against what earlier orders of the batch already reserved
+            int requested = demand.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
+            if (remainingStock.get(product.getId()) < requested) {
+                throw new RuntimeException("Insufficient stock for product: " + product.getName());
+            }
 
-        // Send gRPC notification
-        notificationClient.notifyOrderCreated(
-                savedOrder.getId(),
-                savedOrder.getClient().getId(),
-                savedOrder.getClient().getName(),
-                savedOrder.getStatus().toString(),
-                savedOrder.getTotalAmount().doubleValue()
-        );
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProduct(product);
+            orderItem.setQuantity(itemRequest.getQuantity());
+            orderItem.setUnitPrice(product.getPrice());
+            orderItem.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+            order.addItem(orderItem);
 
-        return convertToResponse(savedOrder);
+            totalAmount = totalAmount.add(orderItem.getSubtotal());
+        }
+        order.setTotalAmount(totalAmount);
+        return order;
     }
 
     public List<OrderResponse> getOrdersByClient(Long clientId) {
-        return orderRepository.findByClientId(clientId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<OrderLineView> lines = orderMetrics.stage("getOrdersByClient", ORDER_LOOKUP,
+                () -> orderRepository.findOrderLinesByClientId(clientId));
+        return orderMetrics.stage("getOrdersByClient", CONVERSION, () -> convertLinesToResponses(lines));
+    }
+
+    // Skips the item join entirely when the caller does not need items (e.g. a GraphQL selection without them)
+    public List<OrderResponse> getOrdersByClient(Long clientId, boolean withItems) {
+        if (withItems) {
+            return getOrdersByClient(clientId);
+        }
+        List<OrderSummaryView> summaries = orderMetrics.stage("getOrdersByClient", ORDER_LOOKUP,
+                () -> orderRepository.findOrderSummariesByClientId(clientId));
+        return orderMetrics.stage("getOrdersByClient", CONVERSION, () -> convertSummariesToResponses(summaries));
+    }
+
+    /**
+     * Returns the newest orders of each client, newest first, at most {@code limit} per client
+     * (capped like a page). Items are only joined when {@code withItems} is set.
+     */
+    public Map<Long, List<OrderResponse>> getOrdersByClients(Collection<Long> clientIds, int limit, boolean withItems) {
+        if (clientIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = orderMetrics.stage("getOrdersByClients", ORDER_LOOKUP,
+                () -> orderRepository.findRecentIdsByClientIdIn(clientIds, pageSize(limit)));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<OrderResponse> orders;
+        if (withItems) {
+            List<OrderLineView> lines = orderMetrics.stage("getOrdersByClients", ORDER_LOOKUP,
+                    () -> orderRepository.findOrderLinesByIdIn(ids));
+            orders = orderMetrics.stage("getOrdersByClients", CONVERSION, () -> convertLinesToResponses(lines));
+        } else {
+            List<OrderSummaryView> summaries = orderMetrics.stage("getOrdersByClients", ORDER_LOOKUP,
+                    () -> orderRepository.findOrderSummariesByIdIn(ids));
+            orders = orderMetrics.stage("getOrdersByClients", CONVERSION, () -> convertSummariesToResponses(summaries));
+        }
+        return orders.stream().collect(Collectors.groupingBy(OrderResponse::getClientId));
     }
 
     public OrderResponse getOrderById(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        return convertToResponse(order);
+        Order order = orderMetrics.stage("getOrderById", ORDER_LOOKUP, () -> orderRepository.findDetailedById(orderId))
+                .orElseThrow(() -> new NotFoundException("Order not found with id: " + orderId));
+        return orderMetrics.stage("getOrderById", CONVERSION, () -> convertToResponse(order));
     }
 
     public BigDecimal calculateOrderTotal(Long orderId) {
         Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+                .orElseThrow(() -> new NotFoundException("Order not found with id: " + orderId));
         return order.getTotalAmount();
     }
 
-    @Transactional
+    /**
+     * Moves one order to {@code newStatus} through the same checks as
+     * {@link #updateOrderStatuses(List, OrderStatus)}; a refused transition is an error.
+     */
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        StatusChangeResult result;
+        try {
+            result = transaction.execute(status -> writeStatusChanges("updateOrderStatus", List.of(orderId), newStatus)).get(0);
+        } finally {
+            entityManager.clear();
+        }
+        if (!result.isSuccess()) {
+            throw result.getPreviousStatus() != null
+                    ? new StatusTransitionException(result.getError())
+                    : new RuntimeException(result.getError());
+        }
+        Order order = orderMetrics.stage("updateOrderStatus", ORDER_LOOKUP, () -> orderRepository.findDetailedById(orderId))
+                .orElseThrow(() -> new NotFoundException("Order not found with id: " + orderId));
+        return orderMetrics.stage("updateOrderStatus", CONVERSION, () -> convertToResponse(order));
+    }
+
+    /**
+     * Moves many orders to {@code status}, one transaction and one set-based update per chunk.
+     * Orders that do not exist or whose current status does not allow the transition are
+     * reported and left unchanged. Cancelling gives the stock of the cancelled orders back in
+     * the same transaction, and the notifications of a chunk are written as one outbox batch.
+     */
+    public List<StatusChangeResult> updateOrderStatuses(List<Long> orderIds, OrderStatus status) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> distinctIds = orderIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        List<StatusChangeResult> results = new ArrayList<>(distinctIds.size());
+        for (int start = 0; start < distinctIds.size(); start += bulkChunkSize) {
+            List<Long> chunk = distinctIds.subList(start, Math.min(start + bulkChunkSize, distinctIds.size()));
+            try {
+                results.addAll(transaction.execute(s -> writeStatusChanges("updateOrderStatuses", chunk, status)));
+            } finally {
+                // The locked copies were loaded read-only and are stale now
+                entityManager.clear();
+            }
+        }
+        return results;
+    }
 
-        // Send gRPC notification for status change
-        notificationClient.notifyOrderStatusChanged(
-                updatedOrder.getId(),
-                updatedOrder.getClient().getId(),
-                updatedOrder.getClient().getName(),
-                updatedOrder.getStatus().toString()
-        );
+    private List<StatusChangeResult> writeStatusChanges(String method, List<Long> orderIds, OrderStatus status) {
+        Map<Long, Order> orders = orderMetrics.stage(method, ORDER_LOOKUP,
+                () -> orderRepository.findForStatusChange(orderIds).stream()
+                        .collect(Collectors.toMap(Order::getId, Function.identity())));
 
-        return convertToResponse(updatedOrder);
+        List<StatusChangeResult> results = new ArrayList<>(orderIds.size());
+        List<Order> changed = new ArrayList<>();
+        Map<Long, OrderStatus> previousStatuses = new HashMap<>();
+        for (Long orderId : orderIds) {
+            Order order = orders.get(orderId);
+            if (order == null) {
+                results.add(StatusChangeResult.failed(orderId, null, "Order not found with id: " + orderId));
+            } else if (!order.getStatus().canTransitionTo(status)) {
+                results.add(StatusChangeResult.failed(orderId, order.getStatus(),
+                        "Cannot change order status from " + order.getStatus() + " to " + status));
+            } else {
+                results.add(StatusChangeResult.changed(orderId, order.getStatus(), status));
+                previousStatuses.put(orderId, order.getStatus());
+                changed.add(order);
+            }
+        }
+        if (changed.isEmpty()) {
+            return results;
+        }
+
+        orderMetrics.stage(method, PERSIST, () -> {
+            int updated = orderRepository.updateStatus(previousStatuses.keySet(), status, OrderStatus.sourcesOf(status));
+            if (updated != changed.size()) {
+                // The rows are locked since they were read, so this means a bug rather than a race
+                throw new IllegalStateException("Expected " + changed.size() + " status updates, got " + updated);
+            }
+            changed.forEach(order -> order.setStatus(status));
+            if (status == OrderStatus.CANCELLED) {
+                Map<Long, Integer> released = new HashMap<>();
+                orderItemRepository.sumQuantitiesByProduct(previousStatuses.keySet())
+                        .forEach(line -> released.put(line.productId(), line.quantity().intValue()));
+                stockReservationService.release(released);
+            }
+            orderAggregateService.recordStatusChanges(changed, previousStatuses);
+        });
+        orderMetrics.stage(method, NOTIFICATION,
+                () -> orderBatchRepository.insertOutboxNotifications(changed, NotificationType.ORDER_STATUS_CHANGED));
+        return results;
     }
 
-    @Transactional
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToResponse)
+        List<OrderLineView> lines = orderMetrics.stage("getAllOrders", ORDER_LOOKUP, orderRepository::findAllOrderLines);
+        return orderMetrics.stage("getAllOrders", CONVERSION, () -> convertLinesToResponses(lines));
+    }
+
+    public List<OrderResponse> getAllOrders(boolean withItems) {
+        if (withItems) {
+            return getAllOrders();
+        }
+        List<OrderSummaryView> summaries = orderMetrics.stage("getAllOrders", ORDER_LOOKUP,
+                orderRepository::findAllOrderSummaries);
+        return orderMetrics.stage("getAllOrders", CONVERSION, () -> convertSummariesToResponses(summaries));
+    }
+
+    /**
+     * Returns the page of orders following {@code cursor} (newest first), or the first page when
+     * the cursor is null. Uses keyset pagination, so the cost does not grow with the page depth.
+     */
+    public OrderPage getOrdersPage(String cursor, int size) {
+        int pageSize = pageSize(size);
+        // Read one extra id to know whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids = orderMetrics.stage("getOrdersPage", ORDER_LOOKUP, () -> {
+            if (cursor == null || cursor.isBlank()) {
+                return orderRepository.findFirstPageIds(limit);
+            }
+            OrderCursor position = OrderCursor.decode(cursor);
+            return orderRepository.findPageIdsAfter(position.orderDate(), position.id(), limit);
+        });
+        return toPage("getOrdersPage", ids, pageSize);
+    }
+
+    /**
+     * Same as {@link #getOrdersPage(String, int)}, restricted to the orders of one client.
+     */
+    public OrderPage getClientOrdersPage(Long clientId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids = orderMetrics.stage("getClientOrdersPage", ORDER_LOOKUP, () -> {
+            if (cursor == null || cursor.isBlank()) {
+                return orderRepository.findFirstPageIdsByClientId(clientId, limit);
+            }
+            OrderCursor position = OrderCursor.decode(cursor);
+            return orderRepository.findPageIdsByClientIdAfter(clientId, position.orderDate(), position.id(), limit);
+        });
+        return toPage("getClientOrdersPage", ids, pageSize);
+    }
+
+    /**
+     * Streams every order to {@code consumer} from a database cursor. Only the order being
+     * assembled is held in memory, whatever the table size.
+     */
+    public void exportOrders(Consumer<OrderResponse> consumer) {
+        streamOrders(orderRepository::streamAllOrderLines, consumer);
+    }
+
+    /**
+     * Streams the orders of one client the same way as {@link #exportOrders(Consumer)}.
+     */
+    public void exportClientOrders(Long clientId, Consumer<OrderResponse> consumer) {
+        streamOrders(() -> orderRepository.streamOrderLinesByClientId(clientId), consumer);
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private OrderPage toPage(String method, List<Long> ids, int pageSize) {
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        List<OrderLineView> lines = pageIds.isEmpty()
+                ? List.of()
+                : orderMetrics.stage(method, ORDER_LOOKUP, () -> orderRepository.findOrderLinesByIdIn(pageIds));
+        List<OrderResponse> orders = orderMetrics.stage(method, CONVERSION, () -> convertLinesToResponses(lines));
+        String nextCursor = hasNext ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+        return new OrderPage(orders, nextCursor, hasNext);
+    }
+
+    private void streamOrders(Supplier<Stream<OrderLineView>> query, Consumer<OrderResponse> consumer) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<OrderLineView> lines = query.get()) {
+                OrderResponse current = null;
+                for (Iterator<OrderLineView> it = lines.iterator(); it.hasNext(); ) {
+                    OrderLineView line = it.next();
+                    if (current != null && !current.getId().equals(line.orderId())) {
+                        consumer.accept(current);
+                        current = null;
+                    }
+                    if (current == null) {
+                        current = newResponse(line);
+                    }
+                    addItem(current, line);
+                }
+                if (current != null) {
+                    consumer.accept(current);
+                }
+            }
+        });
+    }
+
+    // Lines arrive grouped by order, so each order's items are contiguous
+    private List<OrderResponse> convertLinesToResponses(List<OrderLineView> lines) {
+        List<OrderResponse> responses = new ArrayList<>();
+        OrderResponse current = null;
+        for (OrderLineView line : lines) {
+            if (current == null || !current.getId().equals(line.orderId())) {
+                current = newResponse(line);
+                responses.add(current);
+            }
+            addItem(current, line);
+        }
+        return responses;
+    }
+
+    private List<OrderResponse> convertSummariesToResponses(List<OrderSummaryView> summaries) {
+        return summaries.stream()
+                .map(summary -> new OrderResponse(summary.orderId(), summary.clientId(), summary.clientName(),
+                        summary.orderDate(), summary.status(), summary.totalAmount(), summary.source(), new ArrayList<>()))
                 .collect(Collectors.toList());
     }
 
-    private OrderResponse convertToResponse(Order order) {
+    private OrderResponse newResponse(OrderLineView line) {
+        return new OrderResponse(line.orderId(), line.clientId(), line.clientName(), line.orderDate(),
+                line.status(), line.totalAmount(), line.source(), new ArrayList<>());
+    }
+
+    private void addItem(OrderResponse response, OrderLineView line) {
+        if (line.itemId() != null) {
+            response.getItems().add(new OrderItemResponse(line.itemId(), line.productId(), line.productName(),
+                    line.quantity(), line.unitPrice(), line.subtotal()));
+        }
+    }
+
+    OrderResponse convertToResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setClientId(order.getClient().getId());
@@ -144,7 +644,7 @@ public class OrderService {
         return response;
     }
 
-    private OrderItemResponse convertItemToResponse(OrderItem item) {
+    OrderItemResponse convertItemToResponse(OrderItem item) {
         OrderItemResponse response = new OrderItemResponse();
         response.setId(item.getId());
         response.setProductId(item.getProduct().getId());
@@ -154,5 +654,10 @@ public class OrderService {
         response.setSubtotal(item.getSubtotal());
         return response;
     }
-}
 
+    private static class StockChangedException extends RuntimeException {
+        StockChangedException(String message) {
+            super(message);
+        }
+    }
+}
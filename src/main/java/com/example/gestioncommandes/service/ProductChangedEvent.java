@@ -0,0 +1,7 @@
+package com.example.gestioncommandes.service;
+
+import java.util.Collection;
+
+// Published whenever product rows change, including stock adjustments made with plain SQL
+public record ProductChangedEvent(Collection<Long> productIds) {
+}
@@ -0,0 +1,365 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.dto.CategoryCount;
+import com.example.gestioncommandes.dto.ProductSearchResult;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.*;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.DrillSideways;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded Lucene index over the catalog, so product search and browsing never load the whole
+ * product table. Name, description and category are searched with exact, prefix and fuzzy
+ * matches; price and stock are filters, and categories are counted as facets. Search results
+ * are built from stored fields without touching the database.
+ * <p>
+ * The index is rebuilt from the products table at startup and then kept up to date from
+ * {@link ProductChangedEvent}: changed ids are collected and re-read every
+ * {@code catalog.search.refresh-interval-ms}, so a burst of stock updates on a popular product
+ * costs one document update per interval.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String NAME_SORT = "nameSort";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String CATEGORY_TEXT = "categoryText";
+    private static final String PRICE = "price";
+    private static final String STOCK = "stockQuantity";
+
+    // Text fields and their boosts: a match in the name counts more than one in the description
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(NAME, 3f, CATEGORY_TEXT, 2f, DESCRIPTION, 1f);
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final int MAX_CATEGORIES = 100;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.search.index-dir:}")
+    private String indexDir;
+
+    @Value("${catalog.search.max-page-size:100}")
+    private int maxPageSize;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+    // Serializes index writes; a lock rather than synchronized so virtual threads are not pinned
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Path indexPath;
+    private boolean temporaryIndex;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    void open() throws IOException {
+        temporaryIndex = indexDir.isBlank();
+        indexPath = temporaryIndex ? Files.createTempDirectory("product-index") : Path.of(indexDir);
+        directory = FSDirectory.open(indexPath);
+        // The products table lives in memory, so the index starts empty and is rebuilt on ready
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searcherManager = new SearcherManager(writer, new FacetSearcherFactory());
+        Gauge.builder("catalog.search.pending", pendingIds, Set::size)
+                .description("Changed products waiting to be reindexed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        IOUtils.close(searcherManager, writer, directory);
+        if (temporaryIndex) {
+            IOUtils.rm(indexPath);
+        }
+    }
+
+    /**
+     * Runs once the data initializers are done, so the seeded catalog is indexed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() throws IOException {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            writer.deleteAll();
+            long count = 0;
+            // Keyset over the id, so each batch is an index range without a count or an offset
+            PageRequest batch = PageRequest.of(0, REINDEX_BATCH_SIZE, org.springframework.data.domain.Sort.by(ID));
+            Long lastId = 0L;
+            Slice<Product> slice;
+            do {
+                slice = productRepository.findByIdGreaterThan(lastId, batch);
+                for (Product product : slice) {
+                    writer.addDocument(toDocument(product));
+                    lastId = product.getId();
+                    count++;
+                }
+            } while (slice.hasNext());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Indexed {} products in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        pendingIds.addAll(event.productIds());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.search.refresh-interval-ms:500}")
+    public void applyPendingChanges() throws IOException {
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<Long> ids = new ArrayList<>(pendingIds);
+            pendingIds.removeAll(ids);
+            for (int from = 0; from < ids.size(); from += REINDEX_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + REINDEX_BATCH_SIZE, ids.size()));
+                Set<Long> missing = new HashSet<>(batch);
+                for (Product product : productRepository.findAllById(batch)) {
+                    writer.updateDocument(new Term(ID, product.getId().toString()), toDocument(product));
+                    missing.remove(product.getId());
+                }
+                for (Long id : missing) {
+                    writer.deleteDocuments(new Term(ID, id.toString()));
+                }
+            }
+            // Near-real-time reopen; nothing is committed since the index is rebuilt on every start
+            searcherManager.maybeRefresh();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Searches the catalog. Every parameter is optional; without {@code text} all products
+     * matching the filters are returned by name.
+     */
+    @Timed(value = "catalog.search", description = "Product search requests")
+    public ProductSearchResult search(String text, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                      boolean inStockOnly, boolean fuzzy, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int first = Math.max(0, page) * pageSize;
+        if (first + pageSize > MAX_RESULT_WINDOW) {
+            throw new RuntimeException("Cannot page past the first " + MAX_RESULT_WINDOW + " results, refine the search");
+        }
+
+        Query textQuery = textQuery(text, fuzzy);
+        BooleanQuery.Builder base = new BooleanQuery.Builder()
+                .add(textQuery != null ? textQuery : new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        if (minPrice != null || maxPrice != null) {
+            base.add(DoublePoint.newRangeQuery(PRICE,
+                    minPrice != null ? minPrice.doubleValue() : Double.NEGATIVE_INFINITY,
+                    maxPrice != null ? maxPrice.doubleValue() : Double.POSITIVE_INFINITY), BooleanClause.Occur.FILTER);
+        }
+        if (inStockOnly) {
+            base.add(IntPoint.newRangeQuery(STOCK, 1, Integer.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        DrillDownQuery query = new DrillDownQuery(facetsConfig, base.build());
+        if (category != null && !category.isBlank()) {
+            query.add(CATEGORY, category);
+        }
+        Sort sort = textQuery != null ? null : new Sort(new SortField(NAME_SORT, SortField.Type.STRING), SortField.FIELD_DOC);
+
+        try {
+            FacetSearcher searcher = (FacetSearcher) searcherManager.acquire();
+            try {
+                return search(searcher, query, sort, first, pageSize);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProductSearchResult search(FacetSearcher searcher, DrillDownQuery query, Sort sort, int first, int pageSize)
+            throws IOException {
+        TopDocs hits;
+        List<CategoryCount> categories = new ArrayList<>();
+        if (searcher.facetState != null) {
+            DrillSideways.DrillSidewaysResult result = new DrillSideways(searcher, facetsConfig, searcher.facetState)
+                    .search(query, null, null, first + pageSize, sort, false);
+            hits = result.hits;
+            FacetResult facet = result.facets.getTopChildren(MAX_CATEGORIES, CATEGORY);
+            if (facet != null) {
+                for (LabelAndValue labelAndValue : facet.labelValues) {
+                    categories.add(new CategoryCount(labelAndValue.label, labelAndValue.value.longValue()));
+                }
+            }
+        } else {
+            // No product has a category yet, so there is nothing to count
+            hits = sort != null ? searcher.search(query, first + pageSize, sort) : searcher.search(query, first + pageSize);
+        }
+
+        StoredFields storedFields = searcher.storedFields();
+        ScoreDoc[] scoreDocs = hits.scoreDocs;
+        List<Product> products = new ArrayList<>(pageSize);
+        for (int i = first; i < scoreDocs.length; i++) {
+            products.add(toProduct(storedFields.document(scoreDocs[i].doc)));
+        }
+        return new ProductSearchResult(products, hits.totalHits.value, first / pageSize, pageSize, categories);
+    }
+
+    /**
+     * Every word of {@code text} has to match one of the text fields, either exactly, as a
+     * prefix (so results follow the user's typing) or, when {@code fuzzy}, within one or two
+     * edits. Exact matches score highest.
+     */
+    private Query textQuery(String text, boolean fuzzy) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean hasTerms = false;
+        for (String term : analyze(text)) {
+            BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : TEXT_FIELDS.entrySet()) {
+                Term indexed = new Term(field.getKey(), term);
+                float boost = field.getValue();
+                alternatives.add(new BoostQuery(new TermQuery(indexed), boost * 2), BooleanClause.Occur.SHOULD);
+                alternatives.add(new BoostQuery(new PrefixQuery(indexed), boost), BooleanClause.Occur.SHOULD);
+                if (fuzzy && term.length() >= 4) {
+                    int maxEdits = term.length() >= 8 ? 2 : 1;
+                    alternatives.add(new BoostQuery(new FuzzyQuery(indexed, maxEdits, 1), boost / 2),
+                            BooleanClause.Occur.SHOULD);
+                }
+            }
+            query.add(alternatives.build(), BooleanClause.Occur.MUST);
+            hasTerms = true;
+        }
+        return hasTerms ? query.build() : null;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(Product product) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, product.getId().toString(), Field.Store.YES));
+        document.add(new TextField(NAME, product.getName(), Field.Store.YES));
+        document.add(new SortedDocValuesField(NAME_SORT, new BytesRef(product.getName().toLowerCase(Locale.ROOT))));
+        if (product.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.YES));
+        }
+        if (product.getCategory() != null && !product.getCategory().isBlank()) {
+            document.add(new StoredField(CATEGORY, product.getCategory()));
+            document.add(new TextField(CATEGORY_TEXT, product.getCategory(), Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(CATEGORY, product.getCategory()));
+        }
+        document.add(new DoublePoint(PRICE, product.getPrice().doubleValue()));
+        document.add(new StoredField(PRICE, product.getPrice().toPlainString()));
+        document.add(new IntPoint(STOCK, product.getStockQuantity()));
+        document.add(new StoredField(STOCK, product.getStockQuantity()));
+        return facetsConfig.build(document);
+    }
+
+    private static Product toProduct(Document document) {
+        return new Product(
+                Long.valueOf(document.get(ID)),
+                document.get(NAME),
+                document.get(DESCRIPTION),
+                new BigDecimal(document.get(PRICE)),
+                document.getField(STOCK).numericValue().intValue(),
+                document.get(CATEGORY));
+    }
+
+    /**
+     * Searcher carrying the category facet ordinals of its reader, computed once per refresh
+     * instead of once per search.
+     */
+    private static final class FacetSearcher extends IndexSearcher {
+
+        private final SortedSetDocValuesReaderState facetState;
+
+        private FacetSearcher(IndexReader reader) throws IOException {
+            super(reader);
+            this.facetState = hasFacets(reader) ? new DefaultSortedSetDocValuesReaderState(reader, new FacetsConfig()) : null;
+        }
+
+        private static boolean hasFacets(IndexReader reader) {
+            return reader.leaves().stream()
+                    .anyMatch(leaf -> leaf.reader().getFieldInfos().fieldInfo(FacetsConfig.DEFAULT_INDEX_FIELD_NAME) != null);
+        }
+    }
+
+    private static final class FacetSearcherFactory extends SearcherFactory {
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+            return new FacetSearcher(reader);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.dto.OrderItemResponse;
+import com.example.gestioncommandes.dto.OrderLineView;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.repository.ReactiveOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive counterpart of the order reads in {@link OrderService}, producing the same
+ * {@link OrderResponse} shape. Orders are assembled as their rows arrive, so a client history
+ * is emitted incrementally and at the pace the subscriber requests it.
+ */
+@Service
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveOrderService {
+
+    @Autowired
+    private ReactiveOrderRepository reactiveOrderRepository;
+
+    public Mono<OrderResponse> getOrderById(Long orderId) {
+        return toResponses(reactiveOrderRepository.findOrderLinesById(orderId)).next();
+    }
+
+    public Flux<OrderResponse> getOrdersByClient(Long clientId) {
+        return toResponses(reactiveOrderRepository.findOrderLinesByClientId(clientId));
+    }
+
+    // Lines arrive grouped by order, so each buffer holds exactly one order's items
+    private Flux<OrderResponse> toResponses(Flux<OrderLineView> lines) {
+        return lines.bufferUntilChanged(OrderLineView::orderId).map(ReactiveOrderService::toResponse);
+    }
+
+    private static OrderResponse toResponse(List<OrderLineView> lines) {
+        OrderLineView first = lines.get(0);
+        List<OrderItemResponse> items = new ArrayList<>(lines.size());
+        for (OrderLineView line : lines) {
+            if (line.itemId() != null) {
+                items.add(new OrderItemResponse(line.itemId(), line.productId(), line.productName(),
+                        line.quantity(), line.unitPrice(), line.subtotal()));
+            }
+        }
+        return new OrderResponse(first.orderId(), first.clientId(), first.clientName(), first.orderDate(),
+                first.status(), first.totalAmount(), first.source(), items);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.gestioncommandes.service;
+
+/**
+ * Thrown when an order exists but its current status does not allow the requested one.
+ */
+public class StatusTransitionException extends RuntimeException {
+
+    public StatusTransitionException(String message) {
+        super(message);
+    }
+}
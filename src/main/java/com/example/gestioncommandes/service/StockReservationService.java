@@ -0,0 +1,57 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.repository.ProductStockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves product stock without locking rows from Java: each product is decremented with a
+ * conditional {@code UPDATE ... WHERE stock_quantity >= ?}, so the database serializes
+ * concurrent checkouts on the same row and stock can never go negative.
+ */
+@Service
+public class StockReservationService {
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reserves all quantities or none of them. Returns the ids of the products that did not have
+     * enough stock; an empty list means everything was reserved.
+     */
+    public List<Long> tryReserve(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        // Update rows in id order so concurrent multi-product reservations cannot deadlock
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        List<Long> insufficient = productStockRepository.decrementIfAvailable(ordered);
+        if (!insufficient.isEmpty()) {
+            // Give back what was taken so the reservation stays all-or-nothing outside a rollback too
+            Map<Long, Integer> taken = new HashMap<>(ordered);
+            insufficient.forEach(taken::remove);
+            if (!taken.isEmpty()) {
+                productStockRepository.increment(new TreeMap<>(taken));
+            }
+        } else {
+            eventPublisher.publishEvent(new ProductChangedEvent(ordered.keySet()));
+        }
+        return insufficient;
+    }
+
+    public void release(Map<Long, Integer> quantities) {
+        if (!quantities.isEmpty()) {
+            productStockRepository.increment(new TreeMap<>(quantities));
+            eventPublisher.publishEvent(new ProductChangedEvent(quantities.keySet()));
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package com.example.gestioncommandes.web.graphql;
 
+import com.example.gestioncommandes.dto.ProductSearchResult;
 import com.example.gestioncommandes.model.Client;
 import com.example.gestioncommandes.model.Product;
 import com.example.gestioncommandes.repository.ClientRepository;
-import com.example.gestioncommandes.repository.ProductRepository;
+import com.example.gestioncommandes.service.CatalogService;
+import com.example.gestioncommandes.service.ProductSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -20,11 +23,14 @@ public class ClientProductGraphQLController {
     private ClientRepository clientRepository;
 
     @Autowired
-    private ProductRepository productRepository;
+    private CatalogService catalogService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
 
     @QueryMapping
     public Client getClient(@Argument Long id) {
-        return clientRepository.findById(id).orElse(null);
+        return catalogService.findClient(id);
     }
 
     @QueryMapping
@@ -34,12 +40,20 @@ public class ClientProductGraphQLController {
 
     @QueryMapping
     public Product getProduct(@Argument Long id) {
-        return productRepository.findById(id).orElse(null);
+        return catalogService.findProduct(id);
     }
 
     @QueryMapping
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return catalogService.findAllProducts();
+    }
+
+    @QueryMapping
+    public ProductSearchResult searchProducts(@Argument String query, @Argument String category,
+                                              @Argument BigDecimal minPrice, @Argument BigDecimal maxPrice,
+                                              @Argument boolean inStock, @Argument boolean fuzzy,
+                                              @Argument int page, @Argument int size) {
+        return productSearchService.search(query, category, minPrice, maxPrice, inStock, fuzzy, page, size);
     }
 
     @MutationMapping
@@ -49,7 +63,7 @@ public class ClientProductGraphQLController {
         client.setEmail((String) input.get("email"));
         client.setPhone((String) input.get("phone"));
         client.setAddress((String) input.get("address"));
-        return clientRepository.save(client);
+        return catalogService.saveClient(client);
     }
 
     @MutationMapping
@@ -60,7 +74,7 @@ public class ClientProductGraphQLController {
         product.setPrice(new java.math.BigDecimal(input.get("price").toString()));
         product.setStockQuantity((Integer) input.get("stockQuantity"));
         product.setCategory((String) input.get("category"));
-        return productRepository.save(product);
+        return catalogService.saveProduct(product);
     }
 }
 
@@ -1,37 +1,89 @@
 package com.example.gestioncommandes.web.graphql;
 
+import com.example.gestioncommandes.dto.BulkOrderResult;
 import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderAggregateSummary;
+import com.example.gestioncommandes.dto.OrderItemResponse;
+import com.example.gestioncommandes.dto.OrderPage;
 import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.dto.StatusChangeResult;
+import com.example.gestioncommandes.model.AggregateDimension;
+import com.example.gestioncommandes.model.Client;
 import com.example.gestioncommandes.model.OrderStatus;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.service.CatalogService;
+import com.example.gestioncommandes.service.OrderAggregateService;
+import com.example.gestioncommandes.service.OrderCursor;
 import com.example.gestioncommandes.service.OrderService;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.dataloader.DataLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Controller
 public class OrderGraphQLController {
 
+    private static final String CLIENT_ORDERS_LOADER = "clientOrders";
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    public OrderGraphQLController(BatchLoaderRegistry batchLoaderRegistry) {
+        batchLoaderRegistry.<ClientOrdersKey, List<OrderResponse>>forName(CLIENT_ORDERS_LOADER)
+                .registerMappedBatchLoader((keys, environment) -> Mono.fromSupplier(() -> loadClientOrders(keys)));
+    }
+
     @QueryMapping
     public OrderResponse getOrder(@Argument Long id) {
         return orderService.getOrderById(id);
     }
 
     @QueryMapping
-    public List<OrderResponse> getClientOrders(@Argument Long clientId) {
-        return orderService.getOrdersByClient(clientId);
+    public List<OrderResponse> getClientOrders(@Argument Long clientId, DataFetchingFieldSelectionSet selectionSet) {
+        return orderService.getOrdersByClient(clientId, selectionSet.contains("items"));
+    }
+
+    @QueryMapping
+    public List<OrderResponse> getAllOrders(DataFetchingFieldSelectionSet selectionSet) {
+        return orderService.getAllOrders(selectionSet.contains("items"));
     }
 
+    // Relay-style connection over the keyset-paginated order listing
     @QueryMapping
-    public List<OrderResponse> getAllOrders() {
-        return orderService.getAllOrders();
+    public Map<String, Object> ordersConnection(@Argument Integer first, @Argument String after) {
+        OrderPage page = orderService.getOrdersPage(after, first != null ? first : 50);
+
+        List<Map<String, Object>> edges = page.getOrders().stream()
+                .map(order -> Map.<String, Object>of("cursor", OrderCursor.of(order).encode(), "node", order))
+                .collect(Collectors.toList());
+
+        Map<String, Object> pageInfo = new HashMap<>();
+        pageInfo.put("hasNextPage", page.isHasNext());
+        pageInfo.put("endCursor", edges.isEmpty() ? null : edges.get(edges.size() - 1).get("cursor"));
+        return Map.of("edges", edges, "pageInfo", pageInfo);
     }
 
     @QueryMapping
@@ -39,14 +91,82 @@ public class OrderGraphQLController {
         return orderService.calculateOrderTotal(id);
     }
 
+    @QueryMapping
+    public OrderAggregateSummary orderSummary(@Argument AggregateDimension dimension, @Argument String key,
+                                              @Argument OrderStatus status, @Argument String day) {
+        return orderAggregateService.getSummary(dimension, key, status, day != null ? LocalDate.parse(day) : null);
+    }
+
+    @QueryMapping
+    public List<OrderAggregateSummary> orderSummaries(@Argument AggregateDimension dimension,
+                                                      @Argument OrderStatus status, @Argument String day) {
+        return orderAggregateService.getSummaries(dimension, status, day != null ? LocalDate.parse(day) : null);
+    }
+
+    // Nested relations, each resolved with one batched lookup per request and entity type
+
+    @BatchMapping(typeName = "Order")
+    public List<Client> client(List<OrderResponse> orders) {
+        Map<Long, Client> clients = catalogService.findClients(orders.stream()
+                .map(OrderResponse::getClientId)
+                .collect(Collectors.toSet()));
+        return orders.stream()
+                .map(order -> clients.get(order.getClientId()))
+                .collect(Collectors.toList());
+    }
+
+    @BatchMapping(typeName = "OrderItem")
+    public List<Product> product(List<OrderItemResponse> items) {
+        Map<Long, Product> products = catalogService.findProducts(items.stream()
+                .map(OrderItemResponse::getProductId)
+                .collect(Collectors.toSet()));
+        return items.stream()
+                .map(item -> products.get(item.getProductId()))
+                .collect(Collectors.toList());
+    }
+
+    // Batched like the others; the page size and whether items are selected are part of the key,
+    // so only the requested rows are read
+    @SchemaMapping(typeName = "Client")
+    public CompletableFuture<List<OrderResponse>> orders(Client client, @Argument int first, DataFetchingEnvironment environment) {
+        DataLoader<ClientOrdersKey, List<OrderResponse>> loader = environment.getDataLoader(CLIENT_ORDERS_LOADER);
+        return loader.load(new ClientOrdersKey(client.getId(), environment.getSelectionSet().contains("items"), first));
+    }
+
+    private Map<ClientOrdersKey, List<OrderResponse>> loadClientOrders(Set<ClientOrdersKey> keys) {
+        Map<ClientOrdersKey, List<OrderResponse>> result = new HashMap<>();
+        keys.stream()
+                .collect(Collectors.groupingBy(key -> new ClientOrdersKey(null, key.withItems(), key.first())))
+                .forEach((query, clients) -> {
+                    Map<Long, List<OrderResponse>> orders = orderService.getOrdersByClients(clients.stream()
+                            .map(ClientOrdersKey::clientId)
+                            .collect(Collectors.toSet()), query.first(), query.withItems());
+                    clients.forEach(key -> result.put(key, orders.getOrDefault(key.clientId(), List.of())));
+                });
+        return result;
+    }
+
     @MutationMapping
     public OrderResponse createOrder(@Argument CreateOrderRequest input) {
         return orderService.createOrder(input);
     }
 
+    @MutationMapping
+    public List<BulkOrderResult> createOrders(@Argument List<CreateOrderRequest> inputs) {
+        return orderService.createOrders(inputs);
+    }
+
     @MutationMapping
     public OrderResponse updateOrderStatus(@Argument Long orderId, @Argument OrderStatus status) {
         return orderService.updateOrderStatus(orderId, status);
     }
+
+    @MutationMapping
+    public List<StatusChangeResult> updateOrderStatuses(@Argument List<Long> orderIds, @Argument OrderStatus status) {
+        return orderService.updateOrderStatuses(orderIds, status);
+    }
+
+    private record ClientOrdersKey(Long clientId, boolean withItems, int first) {
+    }
 }
 
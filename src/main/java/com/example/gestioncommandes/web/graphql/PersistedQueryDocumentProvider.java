@@ -0,0 +1,88 @@
+package com.example.gestioncommandes.web.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Keeps parsed and validated documents keyed by the SHA-256 hash of their query text, so hot
+ * queries skip parsing and validation. Requests carrying the Apollo {@code persistedQuery}
+ * extension are resolved by hash; since the HTTP transport requires a query, hash-only requests
+ * send {@value PersistedQuerySupport#PERSISTED_QUERY_MARKER} as the query text.
+ */
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final ApolloPersistedQuerySupport persistedQueries;
+
+    public PersistedQueryDocumentProvider(long maximumSize) {
+        this.documents = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.persistedQueries = new ApolloPersistedQuerySupport(new DocumentCache());
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (executionInput.getExtensions().containsKey("persistedQuery")) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        return CompletableFuture.completedFuture(
+                documents.get(sha256(executionInput.getQuery()), hash -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    // Still abstract in graphql-java 21, which only calls getDocumentAsync
+    @Deprecated
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    public Cache<String, PreparsedDocumentEntry> getDocuments() {
+        return documents;
+    }
+
+    private static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class DocumentCache implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                                                                                        ExecutionInput executionInput,
+                                                                                        PersistedQueryCacheMiss onCacheMiss) {
+            String query = executionInput.getQuery();
+            String queryText = PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query) ? null : query;
+            // A miss without query text surfaces as PersistedQueryNotFound so the client resends the full query
+            return CompletableFuture.completedFuture(
+                    documents.get(persistedQueryId.toString().toLowerCase(), hash -> onCacheMiss.apply(queryText)));
+        }
+
+        // Still abstract in graphql-java 21; the persisted query support calls this one
+        @Deprecated
+        @Override
+        public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput,
+                                                                PersistedQueryCacheMiss onCacheMiss) {
+            return getPersistedQueryDocumentAsync(persistedQueryId, executionInput, onCacheMiss).join();
+        }
+    }
+}
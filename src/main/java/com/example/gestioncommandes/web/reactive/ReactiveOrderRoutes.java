@@ -0,0 +1,91 @@
+package com.example.gestioncommandes.web.reactive;
+
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.service.ReactiveOrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Non-blocking order reads served by Reactor Netty on {@code orders.reactive.port}, next to the
+ * servlet endpoints. Client history is streamed as {@code application/x-ndjson} when asked for,
+ * otherwise as a JSON array; either way orders are written as they are read.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveOrderRoutes {
+
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveOrderRouter(ReactiveOrderService reactiveOrderService) {
+        return RouterFunctions.route()
+                .path("/api/reactive/orders", builder -> builder
+                        .GET("/client/{clientId}", request -> clientOrders(reactiveOrderService, request))
+                        .GET("/{id}", request -> order(reactiveOrderService, request)))
+                .build();
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveOrderServer(RouterFunction<ServerResponse> reactiveOrderRouter,
+                                                ObjectMapper objectMapper,
+                                                @Value("${orders.reactive.port:8098}") int port) {
+        // Reuse the application's ObjectMapper so payloads match the REST controllers
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler handler = RouterFunctions.toHttpHandler(reactiveOrderRouter, strategies);
+        return HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+    }
+
+    private static Mono<ServerResponse> order(ReactiveOrderService service, ServerRequest request) {
+        Long id = pathId(request, "id");
+        if (id == null) {
+            return ServerResponse.badRequest().build();
+        }
+        return service.getOrderById(id)
+                .flatMap(order -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(order))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private static Mono<ServerResponse> clientOrders(ReactiveOrderService service, ServerRequest request) {
+        Long clientId = pathId(request, "clientId");
+        if (clientId == null) {
+            return ServerResponse.badRequest().build();
+        }
+        MediaType contentType = request.headers().accept().contains(NDJSON) ? NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(service.getOrdersByClient(clientId), OrderResponse.class);
+    }
+
+    // Null when the segment is not a number: a 400, as the servlet controllers answer
+    private static Long pathId(ServerRequest request, String name) {
+        try {
+            return Long.valueOf(request.pathVariable(name));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.service.ClientChangedEvent;
+import com.example.gestioncommandes.service.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Catalog writes made through Spring Data REST (/api/data/products, /api/data/clients)
+@Component
+@RepositoryEventHandler
+public class CatalogRepositoryEventHandler {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onProductChanged(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(product.getId())));
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onClientChanged(Client client) {
+        eventPublisher.publishEvent(new ClientChangedEvent(List.of(client.getId())));
+    }
+}
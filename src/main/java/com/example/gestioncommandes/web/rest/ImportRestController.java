@@ -0,0 +1,56 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.dto.ImportReport;
+import com.example.gestioncommandes.model.ImportType;
+import com.example.gestioncommandes.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/rest/imports")
+public class ImportRestController {
+
+    @Autowired
+    private ImportService importService;
+
+    // The file is imported in the background, poll GET /api/rest/imports/{id} for progress. An unknown
+    // type or file extension is a 400; failing to store the upload is a server error
+    @PostMapping(path = "/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> importFile(@PathVariable String type, @RequestParam("file") MultipartFile file)
+            throws IOException {
+        try {
+            ImportType importType = ImportType.valueOf(type.toUpperCase(Locale.ROOT));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.submit(importType, file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportReport>> getImports() {
+        return ResponseEntity.ok(importService.getReports());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportReport> getImport(@PathVariable String id) {
+        ImportReport report = importService.getReport(id);
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(path = "/{id}/errors", produces = "text/csv")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String id) {
+        Path errors = importService.getErrorReport(id);
+        return errors != null ? ResponseEntity.ok(new FileSystemResource(errors)) : ResponseEntity.notFound().build();
+    }
+}
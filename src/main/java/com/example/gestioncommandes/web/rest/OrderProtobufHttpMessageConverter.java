@@ -0,0 +1,142 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.dto.BulkOrderResult;
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderPage;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.grpc.CreateOrdersRequest;
+import com.example.gestioncommandes.grpc.CreateOrdersResponse;
+import com.example.gestioncommandes.grpc.OrderList;
+import com.example.gestioncommandes.grpc.OrderProtoMapper;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code application/x-protobuf} bodies of the REST order API, encoded with the messages of
+ * {@code order_service.proto}: an order is an {@code Order}, a list of orders an {@code OrderList},
+ * a page an {@code OrderPage} and bulk results a {@code CreateOrdersResponse}. Request bodies are
+ * read as a {@code CreateOrderRequest} or, for the bulk endpoint, a {@code CreateOrdersRequest}.
+ * Other bodies (summaries, totals, status changes) are not supported and answered with 406.
+ */
+public class OrderProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    public OrderProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return OrderResponse.class == clazz || OrderPage.class == clazz;
+    }
+
+    // Whether a list holds orders is only known from its generic type, see canRead/canWrite below
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        return canRead(mediaType)
+                && (resolved.resolve() == CreateOrderRequest.class || isListOf(resolved, CreateOrderRequest.class));
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type == null || type instanceof Class) {
+            return supports(clazz);
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return supports(resolved.resolve(Object.class))
+                || isListOf(resolved, OrderResponse.class)
+                || isListOf(resolved, BulkOrderResult.class);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        ResolvableType resolved = ResolvableType.forType(type);
+        try {
+            if (resolved.resolve() == CreateOrderRequest.class) {
+                return OrderProtoMapper.toOrderRequest(
+                        com.example.gestioncommandes.grpc.CreateOrderRequest.parseFrom(inputMessage.getBody()));
+            }
+            CreateOrdersRequest bulk = CreateOrdersRequest.parseFrom(inputMessage.getBody());
+            List<CreateOrderRequest> requests = new ArrayList<>(bulk.getOrdersCount());
+            for (com.example.gestioncommandes.grpc.CreateOrderRequest request : bulk.getOrdersList()) {
+                requests.add(OrderProtoMapper.toOrderRequest(request));
+            }
+            return requests;
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof OrderResponse order) {
+            OrderProtoMapper.toOrder(order).writeTo(outputMessage.getBody());
+        } else if (body instanceof OrderPage page) {
+            com.example.gestioncommandes.grpc.OrderPage.Builder message = com.example.gestioncommandes.grpc.OrderPage.newBuilder()
+                    .setNextCursor(page.getNextCursor() != null ? page.getNextCursor() : "")
+                    .setHasNext(page.isHasNext());
+            for (OrderResponse order : page.getOrders()) {
+                message.addOrders(OrderProtoMapper.toOrder(order));
+            }
+            message.build().writeTo(outputMessage.getBody());
+        } else if (isListOf(ResolvableType.forType(type), BulkOrderResult.class)) {
+            writeResults((List<?>) body, outputMessage);
+        } else {
+            writeOrders((List<?>) body, outputMessage);
+        }
+    }
+
+    // Same bytes as an OrderList, written order by order instead of building the whole message
+    private static void writeOrders(List<?> orders, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        for (Object order : orders) {
+            output.writeMessage(OrderList.ORDERS_FIELD_NUMBER, OrderProtoMapper.toOrder((OrderResponse) order));
+        }
+        output.flush();
+    }
+
+    private static void writeResults(List<?> results, HttpOutputMessage outputMessage) throws IOException {
+        CreateOrdersResponse.Builder response = CreateOrdersResponse.newBuilder();
+        for (Object element : results) {
+            BulkOrderResult result = (BulkOrderResult) element;
+            response.addResults(OrderProtoMapper.toResult(result.getIndex(), result));
+            if (result.isSuccess()) {
+                response.setCreated(response.getCreated() + 1);
+            } else {
+                response.setFailed(response.getFailed() + 1);
+            }
+        }
+        response.build().writeTo(outputMessage.getBody());
+    }
+
+    private static boolean isListOf(ResolvableType type, Class<?> elementType) {
+        return List.class.isAssignableFrom(type.resolve(Object.class))
+                && type.asCollection().resolveGeneric(0) == elementType;
+    }
+}
@@ -1,15 +1,32 @@
 package com.example.gestioncommandes.web.rest;
 
+import com.example.gestioncommandes.dto.BulkOrderResult;
+import com.example.gestioncommandes.dto.BulkStatusRequest;
 import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderAggregateSummary;
+import com.example.gestioncommandes.dto.OrderPage;
 import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.dto.StatusChangeResult;
+import com.example.gestioncommandes.grpc.OrderProtoMapper;
+import com.example.gestioncommandes.model.AggregateDimension;
 import com.example.gestioncommandes.model.OrderStatus;
+import com.example.gestioncommandes.service.OrderAggregateService;
 import com.example.gestioncommandes.service.OrderService;
+import com.example.gestioncommandes.service.StatusTransitionException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,8 +36,18 @@ public class OrderRestController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request) {
+    public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            request.setIdempotencyKey(idempotencyKey);
+        }
         try {
             OrderResponse response = orderService.createOrder(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -29,12 +56,89 @@ public class OrderRestController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkOrderResult>> createOrders(@RequestBody List<CreateOrderRequest> requests,
+                                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // Only single creations are replayable, refuse the key rather than ignore it
+        if (idempotencyKey != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BulkOrderResult> results = orderService.createOrders(requests);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping
     public ResponseEntity<List<OrderResponse>> getAllOrders() {
         List<OrderResponse> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<OrderPage> getOrdersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrdersPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Totals read from the precomputed aggregates, e.g. ?dimension=SOURCE&key=mobile&status=DELIVERED
+    @GetMapping("/summary")
+    public ResponseEntity<OrderAggregateSummary> getOrderSummary(
+            @RequestParam(defaultValue = "ALL") AggregateDimension dimension,
+            @RequestParam(required = false) String key,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return ResponseEntity.ok(orderAggregateService.getSummary(dimension, key, status, day));
+    }
+
+    @GetMapping("/summary/{dimension}")
+    public ResponseEntity<List<OrderAggregateSummary>> getOrderSummaries(
+            @PathVariable AggregateDimension dimension,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return ResponseEntity.ok(orderAggregateService.getSummaries(dimension, status, day));
+    }
+
+    // One JSON document per line, streamed from a database cursor
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // Records are separated by the newline written below, not Jackson's default space
+                generator.setRootValueSeparator(null);
+                orderService.exportOrders(order -> {
+                    try {
+                        generator.writeObject(order);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // Same export as length-delimited protobuf Order messages (parseDelimitedFrom reads them back)
+    @GetMapping(value = "/export", produces = "application/x-protobuf")
+    public ResponseEntity<StreamingResponseBody> exportOrdersProtobuf() {
+        StreamingResponseBody body = out -> orderService.exportOrders(order -> {
+            try {
+                OrderProtoMapper.toOrder(order).writeDelimitedTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(OrderProtobufHttpMessageConverter.PROTOBUF)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
         try {
@@ -61,6 +165,15 @@ public class OrderRestController {
         }
     }
 
+    // Body: {"orderIds": [1, 2, 3], "status": "SHIPPED"}; one result per distinct id
+    @PatchMapping("/status")
+    public ResponseEntity<List<StatusChangeResult>> updateOrderStatuses(@RequestBody BulkStatusRequest request) {
+        if (request.getOrderIds() == null || request.getStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus()));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long id,
@@ -68,6 +181,8 @@ public class OrderRestController {
         try {
             OrderResponse response = orderService.updateOrderStatus(id, status);
             return ResponseEntity.ok(response);
+        } catch (StatusTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,34 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.dto.ProductSearchResult;
+import com.example.gestioncommandes.service.ProductSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/api/rest/products")
+public class ProductSearchRestController {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResult> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(productSearchService.search(q, category, minPrice, maxPrice, inStock, fuzzy, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.gestioncommandes.web.soap;
+
+import com.example.gestioncommandes.dto.OrderPage;
+import com.example.gestioncommandes.service.OrderService;
+import com.example.gestioncommandes.soap.GetClientOrdersRequest;
+import com.example.gestioncommandes.soap.OrderInfo;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.*;
+import java.io.IOException;
+
+/**
+ * Streaming variant of the {@code getClientOrders} SOAP operation, same contract as
+ * {@link OrderSoapEndpoint}. Spring-WS builds the whole response envelope in memory before
+ * writing it; here each {@code orders} element is marshalled as a fragment straight to the
+ * response while rows are read from a database cursor, so memory stays flat for clients with
+ * tens of thousands of orders.
+ */
+public class ClientOrdersStreamingServlet extends HttpServlet {
+
+    private static final String SOAP_ENV_URI = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String NAMESPACE_URI = "http://example.com/gestioncommandes/soap";
+    private static final QName ORDERS = new QName(NAMESPACE_URI, "orders");
+
+    private final OrderService orderService;
+    private final JAXBContext jaxbContext;
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+    public ClientOrdersStreamingServlet(OrderService orderService) throws JAXBException {
+        this.orderService = orderService;
+        this.jaxbContext = JAXBContext.newInstance(GetClientOrdersRequest.class, OrderInfo.class);
+        this.inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        GetClientOrdersRequest payload;
+        OrderPage page = null;
+        try {
+            payload = readRequest(request);
+            if (payload.getCursor() != null || payload.getSize() != null) {
+                // A page is bounded by orders.page.max-size, so it is loaded before anything is written
+                page = orderService.getClientOrdersPage(payload.getClientId(), payload.getCursor(),
+                        payload.getSize() != null ? payload.getSize() : 50);
+            }
+        } catch (XMLStreamException | JAXBException | IllegalArgumentException e) {
+            writeFault(response, "SOAP-ENV:Client", e.getMessage());
+            return;
+        }
+
+        response.setContentType("text/xml;charset=UTF-8");
+        try {
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(response.getOutputStream(), "UTF-8");
+            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+            startEnvelope(writer);
+            writer.writeStartElement("tns", "getClientOrdersResponse", NAMESPACE_URI);
+            writer.writeNamespace("tns", NAMESPACE_URI);
+            if (page == null) {
+                orderService.exportClientOrders(payload.getClientId(), order -> writeOrder(marshaller, writer, order));
+            } else {
+                for (com.example.gestioncommandes.dto.OrderResponse order : page.getOrders()) {
+                    writeOrder(marshaller, writer, order);
+                }
+                if (page.getNextCursor() != null) {
+                    writeElement(writer, "nextCursor", page.getNextCursor());
+                }
+                writeElement(writer, "hasNext", String.valueOf(page.isHasNext()));
+            }
+            writer.writeEndElement();
+            endEnvelope(writer);
+            writer.close();
+        } catch (XMLStreamException | JAXBException e) {
+            // Part of the response may already be on the wire, so the connection is aborted instead of faulting
+            throw new IOException("Failed to stream client orders", e);
+        }
+    }
+
+    private GetClientOrdersRequest readRequest(HttpServletRequest request) throws IOException, XMLStreamException, JAXBException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(request.getInputStream());
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && "getClientOrdersRequest".equals(reader.getLocalName())
+                        && NAMESPACE_URI.equals(reader.getNamespaceURI())) {
+                    Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+                    return unmarshaller.unmarshal(reader, GetClientOrdersRequest.class).getValue();
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        throw new IllegalArgumentException("Expected a getClientOrdersRequest payload");
+    }
+
+    private void writeOrder(Marshaller marshaller, XMLStreamWriter writer, com.example.gestioncommandes.dto.OrderResponse order) {
+        try {
+            OrderInfo info = OrderSoapEndpoint.convertToOrderInfo(order);
+            marshaller.marshal(new JAXBElement<>(ORDERS, OrderInfo.class, info), writer);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Failed to marshal order " + order.getId(), e);
+        }
+    }
+
+    private void writeFault(HttpServletResponse response, String code, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType("text/xml;charset=UTF-8");
+        try {
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(response.getOutputStream(), "UTF-8");
+            startEnvelope(writer);
+            writer.writeStartElement("SOAP-ENV", "Fault", SOAP_ENV_URI);
+            writer.writeStartElement("faultcode");
+            writer.writeCharacters(code);
+            writer.writeEndElement();
+            writer.writeStartElement("faultstring");
+            writer.writeCharacters(message != null ? message : "Invalid request");
+            writer.writeEndElement();
+            writer.writeEndElement();
+            endEnvelope(writer);
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void startEnvelope(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("SOAP-ENV", "Envelope", SOAP_ENV_URI);
+        writer.writeNamespace("SOAP-ENV", SOAP_ENV_URI);
+        writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV_URI);
+    }
+
+    private static void endEnvelope(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String localName, String value) throws XMLStreamException {
+        writer.writeStartElement("tns", localName, NAMESPACE_URI);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+}
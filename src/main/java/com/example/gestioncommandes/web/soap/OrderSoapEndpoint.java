@@ -35,29 +35,40 @@ public class OrderSoapEndpoint {
     @ResponsePayload
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public GetClientOrdersResponse getClientOrders(@RequestPayload GetClientOrdersRequest request) {
-        List<com.example.gestioncommandes.dto.OrderResponse> orders = orderService.getOrdersByClient(request.getClientId());
-
         GetClientOrdersResponse response = new GetClientOrdersResponse();
-        orders.forEach(order -> response.getOrders().add(convertToOrderInfo(order)));
+        if (request.getCursor() == null && request.getSize() == null) {
+            orderService.getOrdersByClient(request.getClientId())
+                    .forEach(order -> response.getOrders().add(convertToOrderInfo(order)));
+            return response;
+        }
+
+        com.example.gestioncommandes.dto.OrderPage page = orderService.getClientOrdersPage(
+                request.getClientId(), request.getCursor(), request.getSize() != null ? request.getSize() : 50);
+        page.getOrders().forEach(order -> response.getOrders().add(convertToOrderInfo(order)));
+        response.setNextCursor(page.getNextCursor());
+        response.setHasNext(page.isHasNext());
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getOrdersPageRequest")
+    @ResponsePayload
+    public GetOrdersPageResponse getOrdersPage(@RequestPayload GetOrdersPageRequest request) {
+        com.example.gestioncommandes.dto.OrderPage page = orderService.getOrdersPage(
+                request.getCursor(), request.getSize() != null ? request.getSize() : 50);
+
+        GetOrdersPageResponse response = new GetOrdersPageResponse();
+        page.getOrders().forEach(order -> response.getOrders().add(convertToOrderInfo(order)));
+        response.setNextCursor(page.getNextCursor());
+        response.setHasNext(page.isHasNext());
         return response;
     }
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createOrderRequest")
     @ResponsePayload
     public CreateOrderResponse createOrder(@RequestPayload CreateOrderRequest request) {
-        com.example.gestioncommandes.dto.CreateOrderRequest orderRequest = new com.example.gestioncommandes.dto.CreateOrderRequest();
-        orderRequest.setClientId(request.getClientId());
-        orderRequest.setSource(request.getSource());
-
-        List<com.example.gestioncommandes.dto.OrderItemRequest> items = request.getItems().stream()
-                .map(item -> {
-                    com.example.gestioncommandes.dto.OrderItemRequest itemRequest = new com.example.gestioncommandes.dto.OrderItemRequest();
-                    itemRequest.setProductId(item.getProductId());
-                    itemRequest.setQuantity(item.getQuantity());
-                    return itemRequest;
-                })
-                .collect(Collectors.toList());
-        orderRequest.setItems(items);
+        com.example.gestioncommandes.dto.CreateOrderRequest orderRequest =
+                convertToOrderRequest(request.getClientId(), request.getSource(), request.getItems());
+        orderRequest.setIdempotencyKey(request.getIdempotencyKey());
 
         com.example.gestioncommandes.dto.OrderResponse order = orderService.createOrder(orderRequest);
 
@@ -66,6 +77,19 @@ public class OrderSoapEndpoint {
         return response;
     }
 
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createOrdersRequest")
+    @ResponsePayload
+    public CreateOrdersResponse createOrders(@RequestPayload CreateOrdersRequest request) {
+        List<com.example.gestioncommandes.dto.CreateOrderRequest> orderRequests = request.getOrders().stream()
+                .map(order -> convertToOrderRequest(order.getClientId(), order.getSource(), order.getItems()))
+                .collect(Collectors.toList());
+
+        CreateOrdersResponse response = new CreateOrdersResponse();
+        orderService.createOrders(orderRequests)
+                .forEach(result -> response.getResults().add(convertToBulkOrderResultInfo(result)));
+        return response;
+    }
+
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "updateOrderStatusRequest")
     @ResponsePayload
     public UpdateOrderStatusResponse updateOrderStatus(@RequestPayload UpdateOrderStatusRequest request) {
@@ -77,7 +101,56 @@ public class OrderSoapEndpoint {
         return response;
     }
 
-    private OrderInfo convertToOrderInfo(com.example.gestioncommandes.dto.OrderResponse order) {
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "updateOrderStatusesRequest")
+    @ResponsePayload
+    public UpdateOrderStatusesResponse updateOrderStatuses(@RequestPayload UpdateOrderStatusesRequest request) {
+        OrderStatus status = OrderStatus.valueOf(request.getStatus());
+
+        UpdateOrderStatusesResponse response = new UpdateOrderStatusesResponse();
+        orderService.updateOrderStatuses(request.getOrderIds(), status)
+                .forEach(result -> response.getResults().add(convertToStatusChangeResultInfo(result)));
+        return response;
+    }
+
+    private com.example.gestioncommandes.dto.CreateOrderRequest convertToOrderRequest(Long clientId, String source,
+                                                                                     List<OrderItemInfo> itemInfos) {
+        com.example.gestioncommandes.dto.CreateOrderRequest orderRequest = new com.example.gestioncommandes.dto.CreateOrderRequest();
+        orderRequest.setClientId(clientId);
+        orderRequest.setSource(source);
+
+        List<com.example.gestioncommandes.dto.OrderItemRequest> items = itemInfos.stream()
+                .map(item -> {
+                    com.example.gestioncommandes.dto.OrderItemRequest itemRequest = new com.example.gestioncommandes.dto.OrderItemRequest();
+                    itemRequest.setProductId(item.getProductId());
+                    itemRequest.setQuantity(item.getQuantity());
+                    return itemRequest;
+                })
+                .collect(Collectors.toList());
+        orderRequest.setItems(items);
+        return orderRequest;
+    }
+
+    private BulkOrderResultInfo convertToBulkOrderResultInfo(com.example.gestioncommandes.dto.BulkOrderResult result) {
+        BulkOrderResultInfo info = new BulkOrderResultInfo();
+        info.setIndex(result.getIndex());
+        info.setSuccess(result.isSuccess());
+        info.setOrderId(result.getOrderId());
+        info.setTotalAmount(result.getTotalAmount());
+        info.setError(result.getError());
+        return info;
+    }
+
+    private StatusChangeResultInfo convertToStatusChangeResultInfo(com.example.gestioncommandes.dto.StatusChangeResult result) {
+        StatusChangeResultInfo info = new StatusChangeResultInfo();
+        info.setOrderId(result.getOrderId());
+        info.setSuccess(result.isSuccess());
+        info.setPreviousStatus(result.getPreviousStatus() != null ? result.getPreviousStatus().name() : null);
+        info.setStatus(result.getStatus() != null ? result.getStatus().name() : null);
+        info.setError(result.getError());
+        return info;
+    }
+
+    static OrderInfo convertToOrderInfo(com.example.gestioncommandes.dto.OrderResponse order) {
         OrderInfo orderInfo = new OrderInfo();
         orderInfo.setId(order.getId());
         orderInfo.setClientId(order.getClientId());
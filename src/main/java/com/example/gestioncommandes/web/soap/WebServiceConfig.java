@@ -1,5 +1,8 @@
 package com.example.gestioncommandes.web.soap;
 
+import com.example.gestioncommandes.service.OrderService;
+import jakarta.xml.bind.JAXBException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +27,12 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         return new ServletRegistrationBean<>(servlet, "/ws/*");
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "soap.streaming.enabled", havingValue = "true", matchIfMissing = true)
+    public ServletRegistrationBean<ClientOrdersStreamingServlet> clientOrdersStreamingServlet(OrderService orderService) throws JAXBException {
+        return new ServletRegistrationBean<>(new ClientOrdersStreamingServlet(orderService), "/ws/stream/client-orders");
+    }
+
     @Bean(name = "orders")
     public DefaultWsdl11Definition defaultWsdl11Definition(XsdSchema ordersSchema) {
         DefaultWsdl11Definition wsdl11Definition = new DefaultWsdl11Definition();
@@ -0,0 +1,93 @@
+-- Tables mapped by the JPA entities; Hibernate validates against this schema at startup
+
+CREATE TABLE clients (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    address VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_clients_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    price NUMERIC(38, 2) NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    category VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    client_id BIGINT NOT NULL,
+    order_date TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    total_amount NUMERIC(38, 2),
+    source VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(38, 2) NOT NULL,
+    subtotal NUMERIC(38, 2),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE notification_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('ORDER_CREATED', 'ORDER_STATUS_CHANGED')),
+    order_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    client_name VARCHAR(255),
+    status VARCHAR(255) NOT NULL,
+    total_amount NUMERIC(38, 2),
+    created_at TIMESTAMP(6) NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE order_aggregates (
+    dimension VARCHAR(255) NOT NULL CHECK (dimension IN ('ALL', 'CLIENT', 'SOURCE')),
+    dim_key VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    period VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL,
+    total_amount NUMERIC(38, 2) NOT NULL,
+    -- Key order matches the lookups: one key's rows for a period, then one row per status
+    PRIMARY KEY (dimension, dim_key, period, status)
+);
+
+-- Indexes for the access paths of the repositories. Foreign keys are added after them so that
+-- the database uses these indexes for the constraints instead of creating its own.
+
+-- Client order history and keyset paging per client: WHERE client_id = ? ORDER BY order_date DESC, id DESC
+CREATE INDEX idx_orders_client_date ON orders (client_id, order_date DESC, id DESC);
+CREATE INDEX idx_orders_client_status ON orders (client_id, status);
+CREATE INDEX idx_orders_status ON orders (status);
+CREATE INDEX idx_orders_source ON orders (source);
+-- Global keyset paging: ORDER BY order_date DESC, id DESC
+CREATE INDEX idx_orders_date_id ON orders (order_date DESC, id DESC);
+
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+CREATE INDEX idx_order_items_product ON order_items (product_id);
+
+CREATE INDEX idx_products_category ON products (category);
+
+-- Outbox polling: WHERE next_attempt_at <= ? ORDER BY id
+CREATE INDEX idx_outbox_next_attempt ON notification_outbox (next_attempt_at, id);
+
+-- Summaries of every key of a dimension for one period
+CREATE INDEX idx_order_aggregates_period ON order_aggregates (dimension, period, dim_key);
+
+ALTER TABLE orders ADD CONSTRAINT fk_orders_client FOREIGN KEY (client_id) REFERENCES clients (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
@@ -0,0 +1,16 @@
+-- Ids come from sequences handed out in blocks of 50 (pooled-lo), so Hibernate can batch inserts.
+-- INCREMENT BY must stay equal to the allocationSize of the entity generators and to
+-- OrderBatchRepository.ID_BLOCK_SIZE. The tables are still empty when this runs on the
+-- in-memory database; an existing database would need each sequence restarted above max(id).
+
+CREATE SEQUENCE clients_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE notification_outbox_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE clients ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE notification_outbox ALTER COLUMN id DROP IDENTITY;
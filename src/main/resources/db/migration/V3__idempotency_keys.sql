@@ -0,0 +1,15 @@
+-- Idempotency keys of order creation requests. The row is inserted in the same transaction as
+-- the order, so a committed row always carries the response; a concurrent request with the same
+-- key waits on the primary key and then replays it. Rows past expires_at are purged periodically.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT,
+    response CHARACTER LARGE OBJECT,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
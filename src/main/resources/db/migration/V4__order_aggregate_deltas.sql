@@ -0,0 +1,17 @@
+-- Aggregate changes written by order transactions. Inserts never wait on each other, unlike
+-- updates of the shared order_aggregates rows (every order touches the ALL rows of its status),
+-- so checkouts do not queue; a scheduler folds the deltas into order_aggregates and deletes them.
+-- Summary reads add the deltas not folded yet.
+
+CREATE TABLE order_aggregate_deltas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    dimension VARCHAR(255) NOT NULL,
+    dim_key VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    period VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL,
+    total_amount NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_order_aggregate_deltas_period ON order_aggregate_deltas (dimension, period, dim_key);
@@ -0,0 +1,59 @@
+package com.example.gestioncommandes;
+
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.ClientRepository;
+import com.example.gestioncommandes.repository.ProductRepository;
+import com.example.gestioncommandes.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Base of the integration tests: the whole application on the {@code test} profile, with helpers
+ * creating the clients, products and orders a test needs next to the sample data.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected OrderService orderService;
+
+    @Autowired
+    protected ClientRepository clientRepository;
+
+    @Autowired
+    protected ProductRepository productRepository;
+
+    protected Client newClient() {
+        Client client = new Client();
+        client.setName("Client " + UUID.randomUUID());
+        client.setEmail(UUID.randomUUID() + "@test.example.com");
+        return clientRepository.save(client);
+    }
+
+    protected Product newProduct() {
+        Product product = new Product();
+        product.setName("Product " + UUID.randomUUID());
+        product.setPrice(new BigDecimal("10.50"));
+        product.setStockQuantity(1_000_000);
+        product.setCategory("Test");
+        return productRepository.save(product);
+    }
+
+    // One unit of each product
+    protected OrderResponse newOrder(Long clientId, Product... products) {
+        return orderService.createOrder(new CreateOrderRequest(clientId,
+                Arrays.stream(products).map(product -> new OrderItemRequest(product.getId(), 1)).toList(), "test"));
+    }
+}
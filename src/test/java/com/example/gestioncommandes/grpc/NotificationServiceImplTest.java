@@ -0,0 +1,50 @@
+package com.example.gestioncommandes.grpc;
+
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationServiceImplTest {
+
+    @Test
+    void unsetTypeIsNotReadAsACreation() {
+        assertThat(OrderNotification.newBuilder().setOrderId(1).build().getType())
+                .isEqualTo(OrderNotification.Type.TYPE_UNSPECIFIED);
+    }
+
+    @Test
+    void notificationsWithoutAKnownTypeAreNotAcknowledged() {
+        List<NotificationBatchAck> acks = new ArrayList<>();
+        StreamObserver<NotificationBatch> stream = new NotificationServiceImpl().streamNotifications(new StreamObserver<>() {
+            @Override
+            public void onNext(NotificationBatchAck ack) {
+                acks.add(ack);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+
+        stream.onNext(NotificationBatch.newBuilder()
+                .setBatchId(7)
+                .addNotifications(OrderNotification.newBuilder().setOrderId(1))
+                .addNotifications(OrderNotification.newBuilder().setOrderId(2).setTypeValue(42))
+                .addNotifications(NotificationGrpcClient.orderCreated(3L, 1L, "Client", "PENDING", 10.0))
+                .addNotifications(NotificationGrpcClient.orderStatusChanged(4L, 1L, "Client", "SHIPPED"))
+                .build());
+
+        assertThat(acks).singleElement().satisfies(ack -> {
+            assertThat(ack.getBatchId()).isEqualTo(7);
+            assertThat(ack.getAccepted()).isEqualTo(2);
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.gestioncommandes.grpc;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderGrpcServiceTest extends IntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = InProcessChannelBuilder.forName("test").directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+    }
+
+    @Test
+    void createOrdersRejectsIdempotencyKey() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        Metadata headers = new Metadata();
+        headers.put(IdempotencyKeyInterceptor.HEADER, UUID.randomUUID().toString());
+        OrderServiceGrpc.OrderServiceStub stub = OrderServiceGrpc.newStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+
+        CompletableFuture<Status> outcome = new CompletableFuture<>();
+        StreamObserver<CreateOrderRequest> requests = stub.createOrders(new StreamObserver<>() {
+            @Override
+            public void onNext(CreateOrdersResponse response) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                outcome.complete(Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                outcome.complete(Status.OK);
+            }
+        });
+        requests.onNext(CreateOrderRequest.newBuilder()
+                .setClientId(client.getId())
+                .addItems(OrderItemRequest.newBuilder().setProductId(product.getId()).setQuantity(1))
+                .build());
+        requests.onCompleted();
+
+        assertThat(outcome.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThat(orderService.getOrdersByClient(client.getId())).isEmpty();
+    }
+
+    @Test
+    void missingOrderIsNotFound() {
+        assertThatThrownBy(() -> OrderServiceGrpc.newBlockingStub(channel)
+                .getOrder(GetOrderRequest.newBuilder().setOrderId(Long.MAX_VALUE).build()))
+                .satisfies(e -> assertThat(Status.fromThrowable(e).getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    // With orders.grpc.list-page-size=100, 250 orders are read in three pages
+    @Test
+    void clientOrdersAreReadAsFastAsTheCallerReceivesThem() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            expected.add(newOrder(client.getId(), product).getId());
+        }
+        Collections.reverse(expected);
+        long lookupsBefore = pageLookups();
+
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> firstOrder = new CompletableFuture<>();
+        CompletableFuture<Status> outcome = new CompletableFuture<>();
+        ClientCallStreamObserver<?>[] requestStream = new ClientCallStreamObserver<?>[1];
+        OrderServiceGrpc.newStub(channel).listClientOrders(
+                ListClientOrdersRequest.newBuilder().setClientId(client.getId()).build(),
+                new ClientResponseObserver<ListClientOrdersRequest, Order>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ListClientOrdersRequest> stream) {
+                        requestStream[0] = stream;
+                        stream.disableAutoRequestWithInitial(1);
+                    }
+
+                    @Override
+                    public void onNext(Order order) {
+                        received.add(order.getId());
+                        firstOrder.complete(null);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        outcome.complete(Status.fromThrowable(t));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        outcome.complete(Status.OK);
+                    }
+                });
+
+        firstOrder.get(5, TimeUnit.SECONDS);
+        // A server ignoring flow control reads the remaining pages meanwhile; this pause can only
+        // hide such a regression, never fail a correct run
+        Thread.sleep(200);
+        assertThat(pageLookups() - lookupsBefore).isEqualTo(2);
+        assertThat(outcome).isNotDone();
+
+        // Read the rest one message at a time, so every page is resumed by the on-ready handler
+        for (int i = 0; i < expected.size(); i++) {
+            requestStream[0].request(1);
+        }
+        assertThat(outcome.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(Status.Code.OK);
+        assertThat(received).containsExactlyElementsOf(expected);
+        assertThat(pageLookups() - lookupsBefore).isEqualTo(6);
+    }
+
+    // Two lookups per page: the ids, then their lines
+    private long pageLookups() {
+        Timer timer = meterRegistry.find("orders.service.stage")
+                .tags("method", "getClientOrdersPage", "stage", "order-lookup")
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.gestioncommandes.grpc;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderProtoMapperTest {
+
+    @Test
+    void unsetSourceIsLeftToTheServiceDefault() {
+        CreateOrderRequest request = CreateOrderRequest.newBuilder()
+                .setClientId(1)
+                .addItems(OrderItemRequest.newBuilder().setProductId(2).setQuantity(3))
+                .build();
+
+        com.example.gestioncommandes.dto.CreateOrderRequest mapped = OrderProtoMapper.toOrderRequest(request);
+
+        assertThat(mapped.getSource()).isNull();
+        assertThat(mapped.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(3));
+    }
+
+    @Test
+    void sourceIsKeptWhenSet() {
+        CreateOrderRequest request = CreateOrderRequest.newBuilder().setClientId(1).setSource("mobile").build();
+
+        assertThat(OrderProtoMapper.toOrderRequest(request).getSource()).isEqualTo("mobile");
+    }
+
+    @Test
+    void moneyKeepsCentsAndSign() {
+        assertThat(OrderProtoMapper.toMoney(new BigDecimal("-12.34")))
+                .isEqualTo(Money.newBuilder().setUnits(-12).setNanos(-340_000_000).build());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.gestioncommandes.repository;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The order listing queries of {@link OrderRepository} are served by the indexes of the Flyway
+ * migration. Each query is run once to capture the SQL Hibernate renders for it, which is then
+ * explained with the same parameters; H2 names the index it reads in its EXPLAIN plan and adds
+ * "index sorted" when no sort is needed.
+ */
+class OrderIndexUsageTest extends IntegrationTest {
+
+    private static final LocalDateTime CURSOR_DATE = LocalDateTime.of(2024, 1, 15, 10, 0);
+    private static final long CURSOR_ID = 1000L;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void firstPageReadsTheDateIndexInOrder() {
+        String sql = renderedSql(() -> orderRepository.findFirstPageIds(Limit.of(PAGE_SIZE)));
+
+        assertThat(plan(sql, 0, PAGE_SIZE))
+                .contains("IDX_ORDERS_DATE_ID", "index sorted")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void followingPagesStartFromTheCursorInTheDateIndex() {
+        String sql = renderedSql(() -> orderRepository.findPageIdsAfter(CURSOR_DATE, CURSOR_ID, Limit.of(PAGE_SIZE)));
+
+        assertThat(plan(sql, cursorDate(), cursorDate(), CURSOR_ID, 0, PAGE_SIZE))
+                .contains("IDX_ORDERS_DATE_ID", "index sorted")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void clientHistoryReadsTheClientDateIndex() {
+        String firstPage = renderedSql(() -> orderRepository.findFirstPageIdsByClientId(1L, Limit.of(PAGE_SIZE)));
+        String followingPage = renderedSql(() -> orderRepository.findPageIdsByClientIdAfter(
+                1L, CURSOR_DATE, CURSOR_ID, Limit.of(PAGE_SIZE)));
+
+        assertThat(plan(firstPage, 1L, 0, PAGE_SIZE)).contains("IDX_ORDERS_CLIENT_DATE");
+        assertThat(plan(followingPage, 1L, cursorDate(), cursorDate(), CURSOR_ID, 0, PAGE_SIZE))
+                .contains("IDX_ORDERS_CLIENT_DATE");
+    }
+
+    @Test
+    void orderItemsAreLookedUpByOrder() {
+        String sql = renderedSql(() -> orderItemRepository.findByOrderId(1L));
+
+        assertThat(plan(sql, 1L)).contains("IDX_ORDER_ITEMS_ORDER");
+    }
+
+    private static String renderedSql(Runnable query) {
+        List<String> statements = SqlStatementInspector.record(query);
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+
+    // Parameters in the order of the placeholders of the rendered statement
+    private String plan(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private static Timestamp cursorDate() {
+        return Timestamp.valueOf(CURSOR_DATE);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import com.example.gestioncommandes.dto.BulkOrderResult;
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class IdempotencyStoreTest extends IntegrationTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // The entry used to live a whole ttl after being cached, past the expires_at of its row
+    @Test
+    void cachedResponseExpiresWithItsRow() {
+        FakeTime time = new FakeTime();
+        IdempotencyStore store = new IdempotencyStore(idempotencyKeyRepository, objectMapper, new SimpleMeterRegistry(),
+                Duration.ofHours(1), 100, time, time);
+        OrderResponse order = newOrder(newClient().getId(), newProduct());
+        String key = UUID.randomUUID().toString();
+
+        store.complete(key, "hash", order, store.claim(key, "hash"));
+        time.advance(Duration.ofMinutes(59));
+        assertThat(store.find(key, "hash").getId()).isEqualTo(order.getId());
+
+        time.advance(Duration.ofMinutes(2));
+        assertThat(store.find(key, "hash")).isNull();
+    }
+
+    @Test
+    void replayReturnsTheOriginalOrderWithoutTouchingProducts() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        String key = UUID.randomUUID().toString();
+        String body = orderBody(client, product, 2);
+
+        String created = createOrder(key, body).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        int stock = productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+
+        List<String> statements = SqlStatementInspector.record(() -> {
+            try {
+                assertThat(createOrder(key, body).andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString()).isEqualTo(created);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(statements).noneMatch(sql -> sql.contains("products"));
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(stock);
+        assertThat(orderService.getOrdersByClient(client.getId())).hasSize(1);
+    }
+
+    @Test
+    void keyReusedForAnotherOrderIsRejected() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        String key = UUID.randomUUID().toString();
+
+        createOrder(key, orderBody(client, product, 1)).andExpect(status().isCreated());
+        createOrder(key, orderBody(client, product, 3)).andExpect(status().isBadRequest());
+
+        assertThat(orderService.getOrdersByClient(client.getId()))
+                .singleElement()
+                .satisfies(order -> assertThat(order.getItems().get(0).getQuantity()).isEqualTo(1));
+    }
+
+    @Test
+    void concurrentRequestsWithOneKeyCreateOneOrder() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        String key = UUID.randomUUID().toString();
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<OrderResponse> create = () -> {
+            CreateOrderRequest request = new CreateOrderRequest(client.getId(),
+                    List.of(new OrderItemRequest(product.getId(), 1)), "test");
+            request.setIdempotencyKey(key);
+            start.await();
+            return orderService.createOrder(request);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<OrderResponse>> results = List.of(executor.submit(create), executor.submit(create));
+            start.countDown();
+            Set<Long> orderIds = new HashSet<>();
+            for (Future<OrderResponse> result : results) {
+                try {
+                    orderIds.add(result.get(30, TimeUnit.SECONDS).getId());
+                } catch (ExecutionException e) {
+                    // The loser may be told the key is busy rather than wait for the winner
+                    assertThat(e.getCause()).hasMessageContaining("Idempotency key");
+                }
+            }
+            assertThat(orderIds).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(orderService.getOrdersByClient(client.getId())).hasSize(1);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(999_999);
+    }
+
+    @Test
+    void bulkCreationRejectsKeyedOrders() {
+        Client client = newClient();
+        Product product = newProduct();
+        CreateOrderRequest keyed = new CreateOrderRequest(client.getId(), List.of(new OrderItemRequest(product.getId(), 1)), "test");
+        keyed.setIdempotencyKey(UUID.randomUUID().toString());
+        CreateOrderRequest plain = new CreateOrderRequest(client.getId(), List.of(new OrderItemRequest(product.getId(), 1)), "test");
+
+        List<BulkOrderResult> results = orderService.createOrders(List.of(keyed, plain));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getError()).contains("Idempotency");
+        assertThat(results.get(1).isSuccess()).isTrue();
+    }
+
+    @Test
+    void bulkEndpointRejectsIdempotencyKeyHeader() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        String body = "[{\"clientId\":" + client.getId() + ",\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":1}]}]";
+
+        mockMvc.perform(post("/api/rest/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .content(body))
+                .andExpect(status().isBadRequest());
+        assertThat(orderService.getOrdersByClient(client.getId())).isEmpty();
+    }
+
+    private ResultActions createOrder(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/rest/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", key)
+                .content(body));
+    }
+
+    private static String orderBody(Client client, Product product, int quantity) {
+        return "{\"clientId\":" + client.getId() + ",\"source\":\"test\",\"items\":[{\"productId\":"
+                + product.getId() + ",\"quantity\":" + quantity + "}]}";
+    }
+
+    // Clock for the stored rows and ticker for the cache, advanced together
+    private static class FakeTime extends Clock implements Ticker {
+
+        private final Instant start = Instant.now();
+        private final AtomicLong elapsedNanos = new AtomicLong();
+
+        void advance(Duration duration) {
+            elapsedNanos.addAndGet(duration.toNanos());
+        }
+
+        @Override
+        public long read() {
+            return elapsedNanos.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return start.plusNanos(elapsedNanos.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.dto.ImportReport;
+import com.example.gestioncommandes.model.ImportType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ImportService importService;
+
+    // The name too long for its column fails the whole batch; the valid line, retried on its own,
+    // used to be sent as an update of the id given to it by the rolled back batch
+    @Test
+    void validLineOfAFailedBatchIsStillInserted() throws Exception {
+        String email = UUID.randomUUID() + "@test.example.com";
+        String csv = "id,name,email,phone,address\n"
+                + ",Client valide," + email + ",,\n"
+                + "," + "x".repeat(300) + "," + UUID.randomUUID() + "@test.example.com,,\n";
+
+        ImportReport report = run(ImportType.CLIENTS, "clients.csv", csv);
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getRecordsImported()).isEqualTo(1);
+        assertThat(report.getRecordsRejected()).isEqualTo(1);
+        assertThat(report.getSampleErrors()).noneSatisfy(error -> assertThat(error).contains("not found"));
+        assertThat(clientRepository.findAll()).anySatisfy(client -> assertThat(client.getEmail()).isEqualTo(email));
+    }
+
+    // Lines without an id are matched on email: the second one used to replace the first in the
+    // batch while both were counted as imported
+    @Test
+    void duplicateEmailLineIsRejected() throws Exception {
+        String email = UUID.randomUUID() + "@test.example.com";
+        String csv = "id,name,email,phone,address\n"
+                + ",Premier," + email + ",,\n"
+                + ",Second," + email + ",,\n";
+
+        ImportReport report = run(ImportType.CLIENTS, "clients.csv", csv);
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getRecordsImported()).isEqualTo(1);
+        assertThat(report.getRecordsRejected()).isEqualTo(1);
+        assertThat(report.getSampleErrors()).containsExactly("line 3: Duplicate email " + email + ", already on line 2");
+        assertThat(clientRepository.findAll()).filteredOn(client -> email.equals(client.getEmail()))
+                .singleElement()
+                .satisfies(client -> assertThat(client.getName()).isEqualTo("Premier"));
+    }
+
+    private ImportReport run(ImportType type, String fileName, String content) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", fileName, "text/csv", content.getBytes(StandardCharsets.UTF_8));
+        String id = importService.submit(type, file).getId();
+        for (int i = 0; i < 300; i++) {
+            ImportReport report = importService.getReport(id);
+            if (List.of("COMPLETED", "FAILED").contains(report.getStatus())) {
+                return report;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + id + " did not finish");
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.AggregateDimension;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.OrderStatus;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.repository.OrderAggregateBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderAggregateServiceTest extends IntegrationTest {
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderAggregateBatchRepository orderAggregateBatchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ordersAreNotSerializedOnTheSharedAggregates() throws Exception {
+        Client first = newClient();
+        Client second = newClient();
+        Product firstProduct = newProduct();
+        Product secondProduct = newProduct();
+        CountDownLatch created = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Both orders count towards the same ALL rows; the first stays uncommitted meanwhile
+        CompletableFuture<OrderResponse> open = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    OrderResponse order = newOrder(first.getId(), firstProduct);
+                    created.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return order;
+                }));
+        try {
+            assertThat(created.await(10, TimeUnit.SECONDS)).isTrue();
+            OrderResponse concurrent = CompletableFuture.supplyAsync(() -> newOrder(second.getId(), secondProduct))
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(concurrent.getId()).isNotNull();
+        } finally {
+            release.countDown();
+        }
+        open.get(10, TimeUnit.SECONDS);
+
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, first.getId().toString(), null, null)
+                .getOrderCount()).isEqualTo(1);
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, second.getId().toString(), null, null)
+                .getOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void summariesAddTheDeltasNotFoldedYet() {
+        Client client = newClient();
+        OrderResponse order = newOrder(client.getId(), newProduct());
+        String clientId = client.getId().toString();
+
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.PENDING, null)
+                .getTotalAmount()).isEqualByComparingTo("10.50");
+
+        orderService.updateOrderStatus(order.getId(), OrderStatus.CANCELLED);
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.PENDING, null)
+                .getOrderCount()).isZero();
+
+        orderAggregateService.foldDeltas();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_aggregate_deltas", Long.class)).isZero();
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.CANCELLED, null)
+                .getOrderCount()).isEqualTo(1);
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.PENDING, null)
+                .getOrderCount()).isZero();
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, null, null)
+                .getTotalAmount()).isEqualByComparingTo("10.50");
+    }
+
+    @Test
+    void ordersWithoutSourceChangeStatusOutsideTheSourceDimension() {
+        Client client = newClient();
+        // Loaded without a source, as bulk seeding can, then counted by a rebuild
+        // A whole block of the pooled sequence, so Hibernate never hands out the same id
+        Long orderId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR orders_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO orders (id, client_id, order_date, status, total_amount) "
+                + "VALUES (?, ?, ?, 'PENDING', 25.00)", orderId, client.getId(), Timestamp.valueOf(LocalDateTime.now()));
+        orderAggregateBatchRepository.rebuild();
+        long sourcedOrders = orderAggregateService.getSummaries(AggregateDimension.SOURCE, null, null).stream()
+                .mapToLong(summary -> summary.getOrderCount()).sum();
+
+        orderService.updateOrderStatus(orderId, OrderStatus.CONFIRMED);
+
+        String clientId = client.getId().toString();
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.CONFIRMED, null)
+                .getTotalAmount()).isEqualByComparingTo(new BigDecimal("25.00"));
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.PENDING, null)
+                .getOrderCount()).isZero();
+        assertThat(orderAggregateService.getSummaries(AggregateDimension.SOURCE, null, null).stream()
+                .mapToLong(summary -> summary.getOrderCount()).sum()).isEqualTo(sourcedOrders);
+    }
+}
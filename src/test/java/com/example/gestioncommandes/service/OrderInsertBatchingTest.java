@@ -0,0 +1,38 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import com.example.gestioncommandes.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order lines are inserted in JDBC batches: with sequence ids allocated in blocks of 50, an order
+ * with 50 lines prepares about as many Hibernate statements as an order with one line, instead of
+ * one INSERT per line. Stock and aggregate updates go through JdbcTemplate and are not counted.
+ */
+class OrderInsertBatchingTest extends IntegrationTest {
+
+    @Test
+    void fiftyLineOrderIsInsertedInAHandfulOfStatements() {
+        Long clientId = newClient().getId();
+        newOrder(clientId, newProduct());
+
+        long oneLine = statementsToCreate(clientId, 1);
+        long fiftyLines = statementsToCreate(clientId, 50);
+
+        assertThat(oneLine).isPositive();
+        // At most one more id block for order_items and one for orders
+        assertThat(fiftyLines).isBetween(oneLine, oneLine + 2);
+    }
+
+    private long statementsToCreate(Long clientId, int lines) {
+        Product[] products = IntStream.range(0, lines).mapToObj(i -> newProduct()).toArray(Product[]::new);
+        long before = SqlStatementInspector.current();
+        newOrder(clientId, products);
+        return SqlStatementInspector.current() - before;
+    }
+}
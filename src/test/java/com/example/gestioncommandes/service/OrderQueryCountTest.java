@@ -0,0 +1,58 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import com.example.gestioncommandes.model.Product;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order listings are read with a fixed number of statements, whatever the number of orders,
+ * items and distinct products they contain.
+ */
+class OrderQueryCountTest extends IntegrationTest {
+
+    @Test
+    void clientHistoryTakesAsManyStatementsForFiftyOrdersAsForOne() {
+        Long oneOrder = clientWithOrders(1);
+        Long fiftyOrders = clientWithOrders(50);
+        orderService.getOrdersByClient(oneOrder);
+
+        long forOne = statements(() -> assertThat(orderService.getOrdersByClient(oneOrder)).hasSize(1));
+        long forFifty = statements(() -> assertThat(orderService.getOrdersByClient(fiftyOrders)).hasSize(50));
+
+        assertThat(forOne).isPositive();
+        assertThat(forFifty).isEqualTo(forOne);
+    }
+
+    @Test
+    void orderListingDoesNotGrowWithTheNumberOfOrders() {
+        clientWithOrders(1);
+        orderService.getAllOrders();
+        long before = statements(orderService::getAllOrders);
+
+        clientWithOrders(50);
+        long after = statements(orderService::getAllOrders);
+
+        assertThat(before).isPositive();
+        assertThat(after).isEqualTo(before);
+    }
+
+    // Every order has two items, each on its own product, so nothing is shared between orders
+    private Long clientWithOrders(int count) {
+        Long clientId = newClient().getId();
+        for (int i = 0; i < count; i++) {
+            Product first = newProduct();
+            Product second = newProduct();
+            newOrder(clientId, first, second);
+        }
+        return clientId;
+    }
+
+    private static long statements(Runnable work) {
+        long before = SqlStatementInspector.current();
+        work.run();
+        return SqlStatementInspector.current() - before;
+    }
+}
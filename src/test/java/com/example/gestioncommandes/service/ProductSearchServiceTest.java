@@ -0,0 +1,43 @@
+package com.example.gestioncommandes.service;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import com.example.gestioncommandes.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    // The rebuild used to page with findAll(Pageable): a count query and a growing offset per page.
+    // Hibernate still renders an offset clause, bound to 0 since every batch starts after an id.
+    @Test
+    void rebuildReadsTheCatalogByIdWithoutCounts() {
+        Product product = newProduct();
+
+        List<String> statements = SqlStatementInspector.record(() -> {
+            try {
+                productSearchService.rebuild();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThat(statements).isNotEmpty()
+                .allMatch(sql -> sql.contains("from products") && sql.contains("id>?"))
+                .noneMatch(sql -> sql.contains("count("));
+        assertThat(productSearchService.search(product.getName(), null, null, null, false, false, 0, 10).getProducts())
+                .extracting(Product::getId)
+                .contains(product.getId());
+        assertThat(productSearchService.search(null, null, null, null, false, false, 0, 1).getTotalHits())
+                .isEqualTo(productRepository.count());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.gestioncommandes.web.graphql;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.config.SqlStatementInspector;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientOrdersTest extends IntegrationTest {
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    private ExecutionGraphQlServiceTester graphQlTester;
+
+    private Long firstClient;
+    private Long secondClient;
+    private List<OrderResponse> firstOrders;
+
+    @BeforeEach
+    void setUp() {
+        graphQlTester = ExecutionGraphQlServiceTester.create(graphQlService);
+        Product product = newProduct();
+        firstClient = newClient().getId();
+        secondClient = newClient().getId();
+        firstOrders = List.of(newOrder(firstClient, product), newOrder(firstClient, product), newOrder(firstClient, product));
+        newOrder(secondClient, product);
+    }
+
+    @Test
+    void ordersAreCappedPerClientNewestFirst() {
+        GraphQlTester.Response response = graphQlTester.document("""
+                        query($first: ID!, $second: ID!) {
+                          first: getClient(id: $first) { orders(first: 2) { id items { quantity } } }
+                          second: getClient(id: $second) { orders(first: 2) { id } }
+                        }""")
+                .variable("first", firstClient)
+                .variable("second", secondClient)
+                .execute();
+
+        response.path("first.orders[*].id").entityList(Long.class)
+                .containsExactly(firstOrders.get(2).getId(), firstOrders.get(1).getId());
+        response.path("first.orders[0].items[0].quantity").entity(Integer.class).isEqualTo(1);
+        response.path("second.orders").entityList(Object.class).hasSize(1);
+    }
+
+    @Test
+    void itemsAreNotReadUnlessSelected() {
+        List<String> statements = SqlStatementInspector.record(() -> graphQlTester.document("""
+                        query($id: ID!) { getClient(id: $id) { name orders { id totalAmount } } }""")
+                .variable("id", firstClient)
+                .execute()
+                .path("getClient.orders").entityList(Object.class).hasSize(3));
+
+        assertThat(statements).isNotEmpty();
+        assertThat(statements).noneMatch(sql -> sql.contains("order_items"));
+    }
+}
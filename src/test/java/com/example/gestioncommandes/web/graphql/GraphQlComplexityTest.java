@@ -0,0 +1,48 @@
+package com.example.gestioncommandes.web.graphql;
+
+import com.example.gestioncommandes.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphQlComplexityTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private HttpGraphQlTester graphQlTester;
+
+    @BeforeEach
+    void setUp() {
+        WebTestClient client = MockMvcWebTestClient.bindTo(mockMvc).baseUrl("/graphql").build();
+        graphQlTester = HttpGraphQlTester.create(client);
+    }
+
+    // 2147483647 x the selection cost used to wrap around to a negative cost and pass the budget
+    @Test
+    void hugePageSizeIsRejectedLikeTheLargestPage() {
+        graphQlTester.document("{ ordersConnection(first: 2147483647) { edges { node { id items { id } } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors)
+                        .anySatisfy(error -> assertThat(error.getMessage()).containsIgnoringCase("complexity")));
+        graphQlTester.document("{ ordersConnection(first: 1000000000) { edges { node { id items { id } } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).isNotEmpty());
+    }
+
+    // The resolver returns at most orders.page.max-size orders, so that is what a huge page costs
+    @Test
+    void hugePageSizeIsCostedAsTheLargestPage() {
+        graphQlTester.document("{ ordersConnection(first: 2147483647) { pageInfo { hasNextPage } } }")
+                .execute()
+                .path("ordersConnection.pageInfo.hasNextPage").hasValue();
+    }
+}
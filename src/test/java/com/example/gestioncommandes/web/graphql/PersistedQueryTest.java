@@ -0,0 +1,58 @@
+package com.example.gestioncommandes.web.graphql;
+
+import com.example.gestioncommandes.IntegrationTest;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistedQueryTest extends IntegrationTest {
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    private ExecutionGraphQlServiceTester graphQlTester;
+
+    @BeforeEach
+    void setUp() {
+        graphQlTester = ExecutionGraphQlServiceTester.create(graphQlService);
+    }
+
+    @Test
+    void hashOnlyRequestIsAnsweredOnceTheQueryWasSent() throws Exception {
+        // Unique text, so the hash is unknown until this test registers it
+        String query = "{ getAllProducts { id } __typename } # " + UUID.randomUUID();
+        Map<String, Object> persistedQuery = Map.of("version", 1, "sha256Hash", sha256(query));
+
+        graphQlTester.document(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+                .extension("persistedQuery", persistedQuery)
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors)
+                        .anySatisfy(error -> assertThat(error.getMessage()).contains("PersistedQueryNotFound")));
+
+        graphQlTester.document(query)
+                .extension("persistedQuery", persistedQuery)
+                .execute()
+                .path("__typename").entity(String.class).isEqualTo("Query");
+
+        graphQlTester.document(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+                .extension("persistedQuery", persistedQuery)
+                .execute()
+                .path("__typename").entity(String.class).isEqualTo("Query");
+    }
+
+    private static String sha256(String query) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+}
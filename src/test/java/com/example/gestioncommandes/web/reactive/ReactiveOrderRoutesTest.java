@@ -0,0 +1,81 @@
+package com.example.gestioncommandes.web.reactive;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.DisposableServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes served by Reactor Netty on a random port (see application-test.properties), reading the
+ * orders written through JPA over R2DBC on the same H2 database.
+ */
+class ReactiveOrderRoutesTest extends IntegrationTest {
+
+    @Autowired
+    private DisposableServer reactiveOrderServer;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveOrderServer.port()).build();
+    }
+
+    @Test
+    void returnsAnOrderWithItsItems() {
+        Long clientId = newClient().getId();
+        Product product = newProduct();
+        OrderResponse order = newOrder(clientId, product);
+
+        client.get().uri("/api/reactive/orders/{id}", order.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(order.getId().intValue())
+                .jsonPath("$.clientId").isEqualTo(clientId.intValue())
+                .jsonPath("$.items[0].productId").isEqualTo(product.getId().intValue());
+    }
+
+    @Test
+    void unknownOrderIsNotFound() {
+        client.get().uri("/api/reactive/orders/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void nonNumericIdsAreBadRequests() {
+        client.get().uri("/api/reactive/orders/abc").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/reactive/orders/client/abc").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void clientHistoryIsAJsonArrayOrNdjson() {
+        Long clientId = newClient().getId();
+        Product product = newProduct();
+        newOrder(clientId, product);
+        newOrder(clientId, product);
+
+        client.get().uri("/api/reactive/orders/client/{clientId}", clientId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(OrderResponse.class).hasSize(2);
+
+        String ndjson = client.get().uri("/api/reactive/orders/client/{clientId}", clientId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(ndjson.lines()).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImportRestControllerTest extends IntegrationTest {
+
+    private static final byte[] CSV = "id,name,email,phone,address\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unknownTypeOrExtensionIsABadRequest() throws Exception {
+        mockMvc.perform(multipart("/api/rest/imports/invoices").file(new MockMultipartFile("file", "clients.csv", "text/csv", CSV)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/api/rest/imports/clients").file(new MockMultipartFile("file", "clients.xlsx", "text/csv", CSV)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Storing the upload used to fail with a 400 as if the file were invalid
+    @Test
+    void storageFailureIsNotReportedAsABadRequest() {
+        MockMultipartFile file = new MockMultipartFile("file", "clients.csv", "text/csv", CSV) {
+            @Override
+            public void transferTo(Path dest) throws IOException {
+                throw new IOException("No space left on device");
+            }
+        };
+
+        // MockMvc rethrows what the servlet container would turn into a 500
+        assertThatThrownBy(() -> mockMvc.perform(multipart("/api/rest/imports/clients").file(file)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("No space left on device");
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.grpc.CreateOrdersRequest;
+import com.example.gestioncommandes.grpc.CreateOrdersResponse;
+import com.example.gestioncommandes.grpc.Order;
+import com.example.gestioncommandes.grpc.OrderList;
+import com.example.gestioncommandes.grpc.OrderPage;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderContentNegotiationTest extends IntegrationTest {
+
+    private static final MediaType PROTOBUF = OrderProtobufHttpMessageConverter.PROTOBUF;
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void protobufOrderListAndPage() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        OrderResponse first = newOrder(client.getId(), product, newProduct());
+        OrderResponse second = newOrder(client.getId(), product);
+
+        Order order = Order.parseFrom(getBytes("/api/rest/orders/" + first.getId(), PROTOBUF));
+        assertThat(order.getId()).isEqualTo(first.getId());
+        assertThat(order.getClientId()).isEqualTo(client.getId());
+        assertThat(order.getItemsCount()).isEqualTo(2);
+
+        OrderList list = OrderList.parseFrom(getBytes("/api/rest/orders/client/" + client.getId(), PROTOBUF));
+        assertThat(list.getOrdersList()).extracting(Order::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+
+        OrderPage page = OrderPage.parseFrom(getBytes("/api/rest/orders/page?size=2", PROTOBUF));
+        assertThat(page.getOrdersCount()).isEqualTo(2);
+        assertThat(page.getHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotEmpty();
+    }
+
+    @Test
+    void protobufCreateAndBulk() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        com.example.gestioncommandes.grpc.CreateOrderRequest request = protoRequest(client, product);
+
+        MvcResult created = mockMvc.perform(post("/api/rest/orders")
+                        .contentType(PROTOBUF).accept(PROTOBUF).content(request.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(PROTOBUF))
+                .andReturn();
+        Order order = Order.parseFrom(created.getResponse().getContentAsByteArray());
+        assertThat(order.getClientId()).isEqualTo(client.getId());
+        assertThat(order.getSource()).isEqualTo("test");
+
+        CreateOrdersRequest bulk = CreateOrdersRequest.newBuilder()
+                .addOrders(request)
+                .addOrders(protoRequest(client, product))
+                .addOrders(request.toBuilder().setClientId(-1))
+                .build();
+        MvcResult results = mockMvc.perform(post("/api/rest/orders/bulk")
+                        .contentType(PROTOBUF).accept(PROTOBUF).content(bulk.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PROTOBUF))
+                .andReturn();
+        CreateOrdersResponse response = CreateOrdersResponse.parseFrom(results.getResponse().getContentAsByteArray());
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults(2).getIndex()).isEqualTo(2);
+        assertThat(response.getResults(2).getSuccess()).isFalse();
+    }
+
+    @Test
+    void protobufExportIsDelimited() throws Exception {
+        Client client = newClient();
+        OrderResponse exported = newOrder(client.getId(), newProduct());
+
+        MvcResult started = mockMvc.perform(get("/api/rest/orders/export").accept(PROTOBUF))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PROTOBUF))
+                .andReturn();
+
+        List<Long> ids = new ArrayList<>();
+        InputStream in = new ByteArrayInputStream(result.getResponse().getContentAsByteArray());
+        for (Order order = Order.parseDelimitedFrom(in); order != null; order = Order.parseDelimitedFrom(in)) {
+            ids.add(order.getId());
+        }
+        assertThat(ids).contains(exported.getId());
+    }
+
+    @Test
+    void cborRoundTrip() throws Exception {
+        roundTrip(CBOR, CBORMapper.builder().addModule(new JavaTimeModule()).build());
+    }
+
+    @Test
+    void smileRoundTrip() throws Exception {
+        roundTrip(SMILE, SmileMapper.builder().addModule(new JavaTimeModule()).build());
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        OrderResponse order = newOrder(newClient().getId(), newProduct());
+
+        mockMvc.perform(get("/api/rest/orders/" + order.getId()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    // Summaries and totals have no protobuf message
+    @Test
+    void unsupportedProtobufBodiesAreNotAcceptable() throws Exception {
+        OrderResponse order = newOrder(newClient().getId(), newProduct());
+
+        mockMvc.perform(get("/api/rest/orders/summary").accept(PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/rest/orders/" + order.getId() + "/total").accept(PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/rest/orders/" + order.getId()).accept(MediaType.parseMediaType("application/x-unknown")))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private void roundTrip(MediaType mediaType, ObjectMapper mapper) throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        CreateOrderRequest request = new CreateOrderRequest(client.getId(), List.of(new OrderItemRequest(product.getId(), 2)), "test");
+
+        MvcResult created = mockMvc.perform(post("/api/rest/orders")
+                        .contentType(mediaType).accept(mediaType).content(mapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(mediaType))
+                .andReturn();
+        OrderResponse order = mapper.readValue(created.getResponse().getContentAsByteArray(), OrderResponse.class);
+        assertThat(order.getClientId()).isEqualTo(client.getId());
+        assertThat(order.getItems()).hasSize(1);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("21.00");
+
+        OrderResponse read = mapper.readValue(getBytes("/api/rest/orders/" + order.getId(), mediaType), OrderResponse.class);
+        assertThat(read.getId()).isEqualTo(order.getId());
+        assertThat(read.getOrderDate()).isNotNull();
+        // Same Boot-configured mapper as JSON, so the binary bodies carry the same values (dates included)
+        OrderResponse json = JsonMapper.builder().addModule(new JavaTimeModule()).build()
+                .readValue(getBytes("/api/rest/orders/" + order.getId(), MediaType.APPLICATION_JSON), OrderResponse.class);
+        assertThat(read).isEqualTo(json);
+    }
+
+    private byte[] getBytes(String path, MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(path).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static com.example.gestioncommandes.grpc.CreateOrderRequest protoRequest(Client client, Product product) {
+        return com.example.gestioncommandes.grpc.CreateOrderRequest.newBuilder()
+                .setClientId(client.getId())
+                .setSource("test")
+                .addItems(com.example.gestioncommandes.grpc.OrderItemRequest.newBuilder()
+                        .setProductId(product.getId())
+                        .setQuantity(1))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.dto.CreateOrderRequest;
+import com.example.gestioncommandes.dto.OrderItemRequest;
+import com.example.gestioncommandes.dto.OrderResponse;
+import com.example.gestioncommandes.model.AggregateDimension;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.OrderStatus;
+import com.example.gestioncommandes.model.Product;
+import com.example.gestioncommandes.service.OrderAggregateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderStatusTransitionTest extends IntegrationTest {
+
+    private static final long MISSING_ORDER = Long.MAX_VALUE;
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deliveredOrderCannotGoBackToPending() throws Exception {
+        OrderResponse order = newOrder(newClient().getId(), newProduct());
+        for (OrderStatus status : List.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED)) {
+            mockMvc.perform(patch("/api/rest/orders/{id}/status", order.getId()).param("status", status.name()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value(status.name()));
+        }
+
+        mockMvc.perform(patch("/api/rest/orders/{id}/status", order.getId()).param("status", "PENDING"))
+                .andExpect(status().isConflict());
+
+        assertThat(orderService.getOrderById(order.getId()).getStatus()).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void bulkChangeReportsEveryOrder() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        OrderResponse pending = newOrder(client.getId(), product);
+        OrderResponse cancelled = newOrder(client.getId(), product);
+        orderService.updateOrderStatus(cancelled.getId(), OrderStatus.CANCELLED);
+
+        mockMvc.perform(patch("/api/rest/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[" + pending.getId() + "," + cancelled.getId() + "," + MISSING_ORDER + ","
+                                + pending.getId() + "],\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].orderId").value(pending.getId()))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].previousStatus").value("PENDING"))
+                .andExpect(jsonPath("$[0].status").value("CONFIRMED"))
+                .andExpect(jsonPath("$[1].orderId").value(cancelled.getId()))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].status").value("CANCELLED"))
+                .andExpect(jsonPath("$[2].orderId").value(MISSING_ORDER))
+                .andExpect(jsonPath("$[2].success").value(false))
+                .andExpect(jsonPath("$[2].previousStatus").doesNotExist());
+
+        assertThat(orderService.getOrderById(pending.getId()).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(orderService.getOrderById(cancelled.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void cancellationRestoresStockAndMovesTheAggregates() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        OrderResponse order = orderService.createOrder(new CreateOrderRequest(client.getId(),
+                List.of(new OrderItemRequest(product.getId(), 3)), "test"));
+        assertThat(stock(product)).isEqualTo(999_997);
+
+        mockMvc.perform(patch("/api/rest/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[" + order.getId() + "],\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true));
+
+        assertThat(stock(product)).isEqualTo(1_000_000);
+        String clientId = client.getId().toString();
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.PENDING, null)
+                .getOrderCount()).isZero();
+        assertThat(orderAggregateService.getSummary(AggregateDimension.CLIENT, clientId, OrderStatus.CANCELLED, null))
+                .satisfies(summary -> {
+                    assertThat(summary.getOrderCount()).isEqualTo(1);
+                    assertThat(summary.getTotalAmount()).isEqualByComparingTo("31.50");
+                });
+    }
+
+    private int stock(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+}
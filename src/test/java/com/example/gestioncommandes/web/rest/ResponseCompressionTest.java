@@ -0,0 +1,73 @@
+package com.example.gestioncommandes.web.rest;
+
+import com.example.gestioncommandes.IntegrationTest;
+import com.example.gestioncommandes.grpc.OrderList;
+import com.example.gestioncommandes.model.Client;
+import com.example.gestioncommandes.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gzip is applied by Tomcat, which MockMvc bypasses: these requests go to a real server, started
+ * in its own context with its own database and gRPC in-process name.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:compressiondb",
+        "grpc.server.in-process-name=compression",
+        "grpc.client.notification.address=in-process:compression",
+        "orders.reactive.enabled=false"
+})
+class ResponseCompressionTest extends IntegrationTest {
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void largeBodiesAreGzippedWhenAccepted() throws Exception {
+        Client client = newClient();
+        Product product = newProduct();
+        for (int i = 0; i < 40; i++) {
+            newOrder(client.getId(), product);
+        }
+        String path = "/api/rest/orders/client/" + client.getId();
+
+        HttpResponse<byte[]> json = get(path, "application/json", "gzip");
+        assertThat(json.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(new String(gunzip(json.body()))).startsWith("[{").contains("\"clientId\":" + client.getId());
+
+        HttpResponse<byte[]> protobuf = get(path, "application/x-protobuf", "gzip");
+        assertThat(protobuf.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(OrderList.parseFrom(gunzip(protobuf.body())).getOrdersCount()).isEqualTo(40);
+
+        HttpResponse<byte[]> plain = get(path, "application/json", null);
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(new String(plain.body())).startsWith("[{");
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}